@@ -0,0 +1,121 @@
+package com.yourco.extractor.bench;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.model.typesystem.ReferenceTypeImpl;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.ProjectClasspath;
+import com.yourco.extractor.RunMetrics;
+import com.yourco.extractor.types.JavaType;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The checked-in fixture project under {@code src/main/resources/fixtures}, copied to a temporary
+ * directory because the symbol solver needs real source directories.
+ */
+final class Fixtures implements AutoCloseable {
+
+  static final String CONTROLLERS = "com/acme/api/";
+
+  private final Path root;
+  private final ExtractorConfig config;
+  private final ProjectClasspath classpath;
+
+  private Fixtures(Path root) throws IOException {
+    this.root = root;
+    this.config = ExtractorConfig.load(root.resolve("extractor.yml"));
+    this.classpath = ProjectClasspath.from(config, new RunMetrics());
+  }
+
+  static Fixtures extract() throws IOException {
+    Path target = Files.createTempDirectory("extractor-bench");
+    URI uri;
+    try {
+      uri = Fixtures.class.getResource("/fixtures").toURI();
+    } catch (URISyntaxException ex) {
+      throw new IOException(ex);
+    }
+    if ("jar".equals(uri.getScheme())) {
+      try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+        copy(jar.getPath("/fixtures"), target);
+      }
+    } else {
+      copy(Path.of(uri), target);
+    }
+    return new Fixtures(target);
+  }
+
+  private static void copy(Path source, Path target) throws IOException {
+    try (Stream<Path> files = Files.walk(source)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Path destination = target.resolve(source.relativize(file).toString());
+        if (Files.isDirectory(file)) {
+          Files.createDirectories(destination);
+        } else {
+          Files.copy(file, destination);
+        }
+      }
+    }
+  }
+
+  Path root() {
+    return root;
+  }
+
+  ExtractorConfig config() {
+    return config;
+  }
+
+  ProjectClasspath classpath() {
+    return classpath;
+  }
+
+  /** Resolves a declared class of the fixture project as a raw type. */
+  JavaType type(String qualifiedName) {
+    return JavaType.from(
+        new ReferenceTypeImpl(classpath.getTypeSolver().solveType(qualifiedName)));
+  }
+
+  /** Declared return types of every method of a fixture controller, in declaration order. */
+  List<Type> returnTypeNodes(String controller) throws IOException {
+    return new JavaParser(classpath.getParserConfiguration())
+        .parse(root.resolve("src").resolve(CONTROLLERS + controller + ".java"))
+        .getResult()
+        .orElseThrow()
+        .findAll(MethodDeclaration.class)
+        .stream()
+        .map(MethodDeclaration::getType)
+        .toList();
+  }
+
+  List<JavaType> returnTypes(String controller) throws IOException {
+    JavaParserFacade facade = JavaParserFacade.get(classpath.getTypeSolver());
+    return returnTypeNodes(controller).stream()
+        .map(type -> JavaType.from(facade.convertToUsage(type)))
+        .toList();
+  }
+
+  @Override
+  public void close() {
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
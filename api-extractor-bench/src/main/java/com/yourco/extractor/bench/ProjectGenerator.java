@@ -0,0 +1,308 @@
+package com.yourco.extractor.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Writes a synthetic Spring MVC project for scaling runs.
+ *
+ * <p>Every controller owns a DTO chain {@code depth} levels deep, each level with {@code width}
+ * fields (scalars with validation annotations, an enum, a shared address, a map and the list of
+ * the next level). Endpoints rotate through {@code Result<T>}, {@code ResponseEntity<T>} and
+ * {@code Page<T>} returns with path, query, header and body parameters. Classes are spread over
+ * packages of {@value #PACKAGE_SIZE} controllers. Output is deterministic for given options.
+ */
+@Command(
+    name = "generate-project",
+    mixinStandardHelpOptions = true,
+    description = "Generate a synthetic Spring MVC project")
+public final class ProjectGenerator implements Callable<Integer> {
+
+  static final String BASE_PACKAGE = "com.acme.gen";
+  private static final int PACKAGE_SIZE = 100;
+
+  @Option(names = "--out", required = true, description = "Project directory to create")
+  Path root;
+
+  @Option(names = "--controllers", description = "Number of controllers (default 100)")
+  int controllers = 100;
+
+  @Option(names = "--endpoints", description = "Endpoints per controller (default 8)")
+  int endpointsPerController = 8;
+
+  @Option(names = "--dto-depth", description = "Nesting levels per DTO chain (default 3)")
+  int dtoDepth = 3;
+
+  @Option(names = "--dto-width", description = "Scalar fields per DTO level (default 8)")
+  int dtoWidth = 8;
+
+  public ProjectGenerator() {}
+
+  public ProjectGenerator(
+      Path root, int controllers, int endpointsPerController, int dtoDepth, int dtoWidth) {
+    this.root = root;
+    this.controllers = controllers;
+    this.endpointsPerController = endpointsPerController;
+    this.dtoDepth = dtoDepth;
+    this.dtoWidth = dtoWidth;
+  }
+
+  @Override
+  public Integer call() throws IOException {
+    generate();
+    System.out.printf(
+        "Generated %d controllers, %d endpoints and %d DTOs in %s%n",
+        controllers, controllers * endpointsPerController, controllers * dtoDepth, root);
+    return 0;
+  }
+
+  /** Writes the project and returns its {@code extractor.yml}. */
+  public Path generate() throws IOException {
+    Path src = root.resolve("src");
+    writeCommon(src);
+    for (int index = 0; index < controllers; index++) {
+      String module = "m" + (index / PACKAGE_SIZE);
+      writeDtos(src, module, index);
+      writeController(src, module, index);
+    }
+    Path config = root.resolve("extractor.yml");
+    write(config, config());
+    return config;
+  }
+
+  private void writeCommon(Path src) throws IOException {
+    write(
+        src.resolve("org/springframework/http/ResponseEntity.java"),
+        """
+        package org.springframework.http;
+
+        public class ResponseEntity<T> {
+          private T body;
+          private int status;
+        }
+        """);
+    write(
+        file(src, BASE_PACKAGE + ".common", "Result"),
+        """
+        package %s.common;
+
+        public class Result<T> {
+          private int code;
+          private String message;
+          private T data;
+        }
+        """
+            .formatted(BASE_PACKAGE));
+    write(
+        file(src, BASE_PACKAGE + ".common", "Page"),
+        """
+        package %s.common;
+
+        import java.util.List;
+
+        public class Page<T> {
+          private List<T> records;
+          private long total;
+          private long size;
+          private long current;
+        }
+        """
+            .formatted(BASE_PACKAGE));
+    write(
+        file(src, BASE_PACKAGE + ".common", "Status"),
+        """
+        package %s.common;
+
+        public enum Status {
+          ACTIVE,
+          SUSPENDED,
+          DELETED
+        }
+        """
+            .formatted(BASE_PACKAGE));
+    write(
+        file(src, BASE_PACKAGE + ".common", "AddressDto"),
+        """
+        package %s.common;
+
+        import javax.validation.constraints.NotBlank;
+        import javax.validation.constraints.Size;
+
+        public class AddressDto {
+          @NotBlank private String street;
+          @NotBlank private String city;
+          @Size(min = 2, max = 2) private String country;
+        }
+        """
+            .formatted(BASE_PACKAGE));
+  }
+
+  private void writeDtos(Path src, String module, int index) throws IOException {
+    String pkg = BASE_PACKAGE + "." + module + ".dto";
+    for (int level = 0; level < dtoDepth; level++) {
+      StringBuilder body = new StringBuilder();
+      body.append("package ").append(pkg).append(";\n\n");
+      body.append("import ").append(BASE_PACKAGE).append(".common.AddressDto;\n");
+      body.append("import ").append(BASE_PACKAGE).append(".common.Status;\n");
+      body.append("import java.math.BigDecimal;\n");
+      body.append("import java.time.OffsetDateTime;\n");
+      body.append("import java.util.List;\n");
+      body.append("import java.util.Map;\n");
+      body.append("import javax.validation.Valid;\n");
+      body.append("import javax.validation.constraints.*;\n\n");
+      body.append("public class ").append(dtoName(index, level)).append(" {\n");
+      for (int field = 0; field < dtoWidth; field++) {
+        body.append("  ").append(scalarField(field)).append('\n');
+      }
+      body.append("  private Status status;\n");
+      body.append("  private AddressDto address;\n");
+      body.append("  private Map<String, String> attributes;\n");
+      if (level + 1 < dtoDepth) {
+        String next = dtoName(index, level + 1);
+        body.append("  @Valid private ").append(next).append(" detail;\n");
+        body.append("  private List<").append(next).append("> items;\n");
+      }
+      body.append("}\n");
+      write(file(src, pkg, dtoName(index, level)), body.toString());
+    }
+  }
+
+  private static String scalarField(int field) {
+    String name = "field" + field;
+    return switch (field % 6) {
+      case 0 -> "@NotNull private Long " + name + ";";
+      case 1 -> "@NotBlank @Size(max = 64) private String " + name + ";";
+      case 2 -> "@Min(0) @Max(1000) private int " + name + ";";
+      case 3 -> "@Email private String " + name + ";";
+      case 4 -> "@DecimalMin(\"0.00\") private BigDecimal " + name + ";";
+      default -> "private OffsetDateTime " + name + ";";
+    };
+  }
+
+  private void writeController(Path src, String module, int index) throws IOException {
+    String pkg = BASE_PACKAGE + "." + module + ".api";
+    String dto = dtoName(index, 0);
+    StringBuilder body = new StringBuilder();
+    body.append("package ").append(pkg).append(";\n\n");
+    body.append("import ").append(BASE_PACKAGE).append(".common.Page;\n");
+    body.append("import ").append(BASE_PACKAGE).append(".common.Result;\n");
+    body.append("import ").append(BASE_PACKAGE + "." + module + ".dto." + dto).append(";\n");
+    body.append("import java.util.List;\n");
+    body.append("import javax.validation.Valid;\n");
+    body.append("import org.springframework.http.ResponseEntity;\n\n");
+    body.append("@RestController\n");
+    body.append("@RequestMapping(\"/api/r").append(index).append("\")\n");
+    body.append("public class Resource").append(index).append("Controller {\n");
+    for (int endpoint = 0; endpoint < endpointsPerController; endpoint++) {
+      body.append('\n').append(endpoint(endpoint, dto));
+    }
+    body.append("}\n");
+    write(file(src, pkg, "Resource" + index + "Controller"), body.toString());
+  }
+
+  private static String endpoint(int endpoint, String dto) {
+    String suffix = endpoint < 5 ? "" : "/v" + (endpoint / 5);
+    return switch (endpoint % 5) {
+      case 0 ->
+          """
+            @GetMapping("/items%1$s/{id}")
+            public Result<%2$s> get%3$d(@PathVariable("id") Long id) {
+              return null;
+            }
+          """
+              .formatted(suffix, dto, endpoint);
+      case 1 ->
+          """
+            @GetMapping("/items%1$s")
+            public ResponseEntity<Page<%2$s>> list%3$d(
+                @RequestParam(value = "current", defaultValue = "1") int current,
+                @RequestParam(value = "size", required = false) Integer size,
+                @RequestHeader("X-Tenant") String tenant) {
+              return null;
+            }
+          """
+              .formatted(suffix, dto, endpoint);
+      case 2 ->
+          """
+            @PostMapping("/items%1$s")
+            public Result<%2$s> create%3$d(@Valid @RequestBody %2$s body) {
+              return null;
+            }
+          """
+              .formatted(suffix, dto, endpoint);
+      case 3 ->
+          """
+            @PutMapping("/items%1$s/{id}")
+            public ResponseEntity<Result<List<%2$s>>> update%3$d(
+                @PathVariable("id") Long id, @RequestBody List<%2$s> body) {
+              return null;
+            }
+          """
+              .formatted(suffix, dto, endpoint);
+      default ->
+          """
+            @DeleteMapping("/items%1$s/{id}")
+            public ResponseEntity<Void> delete%2$d(@PathVariable("id") Long id) {
+              return null;
+            }
+          """
+              .formatted(suffix, endpoint);
+    };
+  }
+
+  private String config() {
+    return """
+        # Generated by ProjectGenerator
+        title: "Synthetic API"
+        version: "1.0.0"
+        sourceDirs: ["src"]
+        basePackages: ["%1$s"]
+        wrappers:
+          - type: "org.springframework.http.ResponseEntity<T>"
+            payloadArgIndex: 0
+          - type: "%1$s.common.Result<T>"
+            payloadArgIndex: 0
+          - type: "%1$s.common.Page<T>"
+            payloadArgIndex: 0
+            asSchema:
+              type: object
+              properties:
+                records:
+                  type: array
+                  items:
+                    $ref: "T"
+                total:
+                  type: integer
+                  format: int64
+              required:
+                - records
+                - total
+        output:
+          skipUnchanged: false
+        """
+        .formatted(BASE_PACKAGE);
+  }
+
+  private static String dtoName(int index, int level) {
+    return "Resource" + index + "L" + level + "Dto";
+  }
+
+  private static Path file(Path src, String pkg, String type) {
+    return src.resolve(pkg.replace('.', '/')).resolve(type + ".java");
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content, StandardCharsets.UTF_8);
+  }
+
+  public static void main(String[] args) {
+    System.exit(new CommandLine(new ProjectGenerator()).execute(args));
+  }
+}
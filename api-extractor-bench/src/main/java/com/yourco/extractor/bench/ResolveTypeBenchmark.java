@@ -0,0 +1,57 @@
+package com.yourco.extractor.bench;
+
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.yourco.extractor.types.JavaType;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@code ControllerScanner.resolveType} on the nested generic return types of
+ * {@code GenericController}, such as {@code ResponseEntity<Result<Page<UserDto>>>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolveTypeBenchmark {
+
+  private Fixtures fixtures;
+  private JavaParserFacade facade;
+  private List<Type> returnTypes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixtures = Fixtures.extract();
+    facade = JavaParserFacade.get(fixtures.classpath().getTypeSolver());
+    returnTypes = fixtures.returnTypeNodes("GenericController");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixtures.close();
+  }
+
+  @Benchmark
+  public void resolveType(Blackhole blackhole) {
+    for (Type type : returnTypes) {
+      blackhole.consume(JavaType.from(facade.convertToUsage(type)));
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package com.yourco.extractor.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Runs the full {@code Main} pipeline over generated projects of increasing size and reports
+ * time, heap use and output size per step.
+ *
+ * <p>Each step runs in its own JVM so heap peaks and JIT state do not carry over; the numbers come
+ * from the extractor's {@code --metrics-out} report. Projects are deleted after their step unless
+ * {@code --keep} is given.
+ */
+@Command(
+    name = "scaling",
+    mixinStandardHelpOptions = true,
+    description = "Measure end-to-end extraction over synthetic projects of increasing size")
+public final class ScalingHarness implements Callable<Integer> {
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final double MIB = 1024.0 * 1024.0;
+
+  @Option(
+      names = "--steps",
+      split = ",",
+      description = "Controller counts to run (default 100,500,1000,5000,10000,50000)")
+  List<Integer> steps = List.of(100, 500, 1000, 5000, 10000, 50000);
+
+  @Option(names = "--endpoints", description = "Endpoints per controller (default 8)")
+  int endpointsPerController = 8;
+
+  @Option(names = "--dto-depth", description = "Nesting levels per DTO chain (default 3)")
+  int dtoDepth = 3;
+
+  @Option(names = "--dto-width", description = "Scalar fields per DTO level (default 8)")
+  int dtoWidth = 8;
+
+  @Option(names = "--heap", description = "Maximum heap of each extraction JVM, e.g. 4g")
+  String heap;
+
+  @Option(names = "--work-dir", description = "Where projects are generated (default: temp)")
+  Path workDir;
+
+  @Option(names = "--keep", description = "Keep generated projects and outputs")
+  boolean keep;
+
+  @Option(names = "--report", description = "Also write the results as JSON")
+  Path report;
+
+  @Override
+  public Integer call() throws IOException, InterruptedException {
+    Path work = workDir != null ? workDir : Files.createTempDirectory("extractor-scaling");
+    Files.createDirectories(work);
+    ArrayNode results = MAPPER.createArrayNode();
+    System.out.printf(
+        "%11s %10s %8s %10s %10s %12s %14s %11s %12s%n",
+        "controllers", "endpoints", "dtos", "wall s", "cpu s", "max heap MB", "after GC MB",
+        "output MB", "ms/endpoint");
+    int exitCode = 0;
+    for (int controllers : steps) {
+      Path project = work.resolve("project-" + controllers);
+      Path config =
+          new ProjectGenerator(project, controllers, endpointsPerController, dtoDepth, dtoWidth)
+              .generate();
+      Path output = project.resolve("openapi.json");
+      Path metrics = project.resolve("metrics.json");
+      int code = extract(config, output, metrics, project.resolve("extractor.log"));
+      if (code != 0) {
+        System.out.printf(
+            "%11d extraction failed with exit code %d, see %s%n",
+            controllers, code, project.resolve("extractor.log"));
+        exitCode = code;
+        break;
+      }
+      ObjectNode row = row(controllers, metrics, Files.size(output));
+      results.add(row);
+      long afterGc = row.get("heapAfterGcMaxBytes").asLong();
+      System.out.printf(
+          "%11d %10d %8d %10.2f %10.2f %12.1f %14s %11.2f %12.3f%n",
+          controllers,
+          row.get("endpoints").asLong(),
+          row.get("dtos").asLong(),
+          row.get("wallMillis").asDouble() / 1000,
+          row.get("cpuMillis").asDouble() / 1000,
+          row.get("heapUsedMaxBytes").asLong() / MIB,
+          afterGc < 0 ? "-" : String.format("%.1f", afterGc / MIB),
+          row.get("outputBytes").asLong() / MIB,
+          row.get("wallMillis").asDouble() / Math.max(1, row.get("endpoints").asLong()));
+      if (!keep) {
+        delete(project);
+      }
+    }
+    if (report != null) {
+      ObjectNode root = MAPPER.createObjectNode();
+      root.put("endpointsPerController", endpointsPerController);
+      root.put("dtoDepth", dtoDepth);
+      root.put("dtoWidth", dtoWidth);
+      root.put("heap", heap);
+      root.set("steps", results);
+      MAPPER.writeValue(report.toFile(), root);
+    }
+    if (!keep && workDir == null) {
+      delete(work);
+    }
+    return exitCode;
+  }
+
+  private int extract(Path config, Path output, Path metrics, Path log)
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    if (heap != null) {
+      command.add("-Xmx" + heap);
+    }
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add("com.yourco.extractor.Main");
+    command.addAll(
+        List.of(
+            "--config", config.toString(),
+            "--out", output.toString(),
+            "--metrics-out", metrics.toString(),
+            "--log-level", "WARN"));
+    Process process =
+        new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    return process.waitFor();
+  }
+
+  private ObjectNode row(int controllers, Path metrics, long outputBytes) throws IOException {
+    JsonNode report = MAPPER.readTree(metrics.toFile());
+    ObjectNode row = MAPPER.createObjectNode();
+    row.put("controllers", controllers);
+    row.put("endpoints", (long) controllers * endpointsPerController);
+    row.put("dtos", (long) controllers * dtoDepth);
+    row.put("files", report.path("counters").path("files.scanned").asLong());
+    row.put("wallMillis", report.path("totalWallMillis").asDouble());
+    row.put("cpuMillis", report.path("processCpuMillis").asDouble());
+    row.put("heapUsedMaxBytes", report.path("heapUsedMaxBytes").asLong());
+    row.put("heapAfterGcMaxBytes", report.path("heapAfterGcMaxBytes").asLong(-1));
+    row.put("outputBytes", outputBytes);
+    row.set("phases", report.path("phases"));
+    return row;
+  }
+
+  private static void delete(Path root) throws IOException {
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    System.exit(new CommandLine(new ScalingHarness()).execute(args));
+  }
+}
@@ -0,0 +1,68 @@
+package com.yourco.extractor.bench;
+
+import com.yourco.extractor.ControllerScanner;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.model.Endpoint;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code ControllerScanner.parseFile} on one controller: parsing plus endpoint extraction. Every
+ * other fixture file is excluded so the scan visits exactly the selected controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+  /** 5, 25 and 100 endpoints. */
+  @Param({"SmallController", "MediumController", "LargeController"})
+  public String controller;
+
+  private Fixtures fixtures;
+  private ControllerScanner scanner;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixtures = Fixtures.extract();
+    List<String> excludes =
+        new ArrayList<>(List.of("com/acme/common/**", "com/acme/dto/**", "org/**"));
+    for (String other :
+        List.of("SmallController", "MediumController", "LargeController", "GenericController")) {
+      if (!other.equals(controller)) {
+        excludes.add(Fixtures.CONTROLLERS + other + ".java");
+      }
+    }
+    fixtures.config().setExcludes(excludes);
+    scanner =
+        new ControllerScanner(fixtures.classpath(), fixtures.config(), RunContext.standalone());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixtures.close();
+  }
+
+  @Benchmark
+  public List<Endpoint> parseFile() {
+    return scanner.scan();
+  }
+}
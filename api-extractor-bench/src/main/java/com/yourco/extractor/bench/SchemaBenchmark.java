@@ -0,0 +1,66 @@
+package com.yourco.extractor.bench;
+
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.SchemaGenerator;
+import com.yourco.extractor.types.JavaType;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code SchemaGenerator.toSchema} over a DTO graph. A fresh generator is used per call, since a
+ * shared one would answer every call after the first from its component map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+  private static final Map<String, String> GRAPHS =
+      Map.of(
+          "deep", "com.acme.dto.deep.Level1Dto",
+          "wide", "com.acme.dto.wide.WideDto",
+          "mixed", "com.acme.dto.OrderDto");
+
+  /** deep: eight nested levels; wide: 64 fields; mixed: collections, maps, enums. */
+  @Param({"deep", "wide", "mixed"})
+  public String graph;
+
+  private Fixtures fixtures;
+  private JavaType type;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixtures = Fixtures.extract();
+    type = fixtures.type(GRAPHS.get(graph));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixtures.close();
+  }
+
+  @Benchmark
+  public Schema<?> toSchema() {
+    return new SchemaGenerator(
+            fixtures.classpath(), fixtures.config(), RunContext.standalone(), null)
+        .toSchema(type);
+  }
+}
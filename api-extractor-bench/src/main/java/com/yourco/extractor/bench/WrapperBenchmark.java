@@ -0,0 +1,85 @@
+package com.yourco.extractor.bench;
+
+import com.yourco.extractor.Diagnostics;
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.types.JavaType;
+import com.yourco.extractor.wrapper.WrapperStripper;
+import com.yourco.extractor.wrapper.WrapperTemplate;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Wrapper handling: {@code WrapperStripper.strip} on the generic return types of
+ * {@code GenericController}, and the {@code Page<T>} {@code asSchema} template applied to a
+ * payload the way {@code OpenApiBuilder} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapperBenchmark {
+
+  private Fixtures fixtures;
+  private List<JavaType> returnTypes;
+  private WrapperStripper warmStripper;
+  private WrapperTemplate pageTemplate;
+  private Schema<?> payload;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixtures = Fixtures.extract();
+    returnTypes = fixtures.returnTypes("GenericController");
+    warmStripper = new WrapperStripper(fixtures.config(), new Diagnostics());
+    ExtractorConfig.WrapperConfig page =
+        fixtures.config().getWrappers().stream()
+            .filter(wrapper -> wrapper.getAsSchema() != null)
+            .findFirst()
+            .orElseThrow();
+    pageTemplate = WrapperTemplate.compile(page.getType(), page.getAsSchema()).orElseThrow();
+    payload = new Schema<>().$ref("#/components/schemas/com_acme_dto_UserDto");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixtures.close();
+  }
+
+  /** First unwrap of each type, as seen by a new stripper. */
+  @Benchmark
+  public void strip(Blackhole blackhole) {
+    WrapperStripper stripper = new WrapperStripper(fixtures.config(), new Diagnostics());
+    for (JavaType type : returnTypes) {
+      blackhole.consume(stripper.strip(type));
+    }
+  }
+
+  /** Repeated unwraps served from the stripper's per-type cache. */
+  @Benchmark
+  public void stripCached(Blackhole blackhole) {
+    for (JavaType type : returnTypes) {
+      blackhole.consume(warmStripper.strip(type));
+    }
+  }
+
+  @Benchmark
+  public Schema<?> applyWrapperTemplate() {
+    return pageTemplate.instantiate(payload);
+  }
+}
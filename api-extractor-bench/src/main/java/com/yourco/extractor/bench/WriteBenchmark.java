@@ -0,0 +1,75 @@
+package com.yourco.extractor.bench;
+
+import com.yourco.extractor.ControllerScanner;
+import com.yourco.extractor.OpenApiBuilder;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.SchemaGenerator;
+import com.yourco.extractor.model.Endpoint;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code OpenApiBuilder.write} for the whole fixture project (135 operations): component pruning,
+ * canonical ordering and serialization. Operations are assembled before each call, outside the
+ * measurement, because writing finalizes the builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+  @Param({"json", "json-compact", "yaml"})
+  public String format;
+
+  private Fixtures fixtures;
+  private List<Endpoint> endpoints;
+  private Path output;
+  private OpenApiBuilder builder;
+  private SchemaGenerator generator;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    fixtures = Fixtures.extract();
+    fixtures.config().getOutput().setFormat(format);
+    endpoints =
+        new ControllerScanner(fixtures.classpath(), fixtures.config(), RunContext.standalone())
+            .scan();
+    output = fixtures.root().resolve("openapi.out");
+  }
+
+  @Setup(Level.Invocation)
+  public void assemble() throws IOException {
+    RunContext context = RunContext.standalone();
+    generator = new SchemaGenerator(fixtures.classpath(), fixtures.config(), context, null);
+    builder = new OpenApiBuilder("Benchmark API", "1.0.0", fixtures.config(), context);
+    builder.addEndpoints(endpoints, generator);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    fixtures.close();
+  }
+
+  @Benchmark
+  public void write() throws IOException {
+    builder.write(output, generator);
+  }
+}
@@ -0,0 +1,40 @@
+package com.acme.api;
+
+import com.acme.common.Page;
+import com.acme.common.Result;
+import com.acme.dto.OrderDto;
+import com.acme.dto.UserDto;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/generic")
+public class GenericController {
+
+  @GetMapping("/a")
+  public Result<UserDto> a() {
+    return null;
+  }
+
+  @GetMapping("/b")
+  public ResponseEntity<Result<Page<UserDto>>> b() {
+    return null;
+  }
+
+  @GetMapping("/c")
+  public Result<List<Map<String, OrderDto>>> c() {
+    return null;
+  }
+
+  @GetMapping("/d")
+  public ResponseEntity<Page<Result<Optional<OrderDto>>>> d() {
+    return null;
+  }
+
+  @GetMapping("/e")
+  public Map<String, List<Page<UserDto>>> e() {
+    return null;
+  }
+}
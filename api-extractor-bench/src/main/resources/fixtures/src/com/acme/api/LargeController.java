@@ -0,0 +1,513 @@
+package com.acme.api;
+
+import com.acme.common.Page;
+import com.acme.common.Result;
+import com.acme.dto.OrderDto;
+import com.acme.dto.UserDto;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/large")
+public class LargeController {
+
+  @GetMapping("/users0/{id}")
+  public Result<UserDto> op0(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users1")
+  public ResponseEntity<Page<UserDto>> op1(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders2")
+  public Result<OrderDto> op2(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders3/{id}")
+  public ResponseEntity<OrderDto> op3(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders4/{id}")
+  public ResponseEntity<Void> op4(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders5")
+  public Result<List<OrderDto>> op5(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users6/{id}")
+  public Result<UserDto> op6(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users7")
+  public ResponseEntity<Page<UserDto>> op7(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders8")
+  public Result<OrderDto> op8(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders9/{id}")
+  public ResponseEntity<OrderDto> op9(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders10/{id}")
+  public ResponseEntity<Void> op10(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders11")
+  public Result<List<OrderDto>> op11(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users12/{id}")
+  public Result<UserDto> op12(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users13")
+  public ResponseEntity<Page<UserDto>> op13(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders14")
+  public Result<OrderDto> op14(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders15/{id}")
+  public ResponseEntity<OrderDto> op15(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders16/{id}")
+  public ResponseEntity<Void> op16(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders17")
+  public Result<List<OrderDto>> op17(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users18/{id}")
+  public Result<UserDto> op18(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users19")
+  public ResponseEntity<Page<UserDto>> op19(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders20")
+  public Result<OrderDto> op20(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders21/{id}")
+  public ResponseEntity<OrderDto> op21(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders22/{id}")
+  public ResponseEntity<Void> op22(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders23")
+  public Result<List<OrderDto>> op23(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users24/{id}")
+  public Result<UserDto> op24(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users25")
+  public ResponseEntity<Page<UserDto>> op25(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders26")
+  public Result<OrderDto> op26(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders27/{id}")
+  public ResponseEntity<OrderDto> op27(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders28/{id}")
+  public ResponseEntity<Void> op28(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders29")
+  public Result<List<OrderDto>> op29(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users30/{id}")
+  public Result<UserDto> op30(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users31")
+  public ResponseEntity<Page<UserDto>> op31(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders32")
+  public Result<OrderDto> op32(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders33/{id}")
+  public ResponseEntity<OrderDto> op33(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders34/{id}")
+  public ResponseEntity<Void> op34(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders35")
+  public Result<List<OrderDto>> op35(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users36/{id}")
+  public Result<UserDto> op36(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users37")
+  public ResponseEntity<Page<UserDto>> op37(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders38")
+  public Result<OrderDto> op38(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders39/{id}")
+  public ResponseEntity<OrderDto> op39(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders40/{id}")
+  public ResponseEntity<Void> op40(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders41")
+  public Result<List<OrderDto>> op41(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users42/{id}")
+  public Result<UserDto> op42(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users43")
+  public ResponseEntity<Page<UserDto>> op43(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders44")
+  public Result<OrderDto> op44(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders45/{id}")
+  public ResponseEntity<OrderDto> op45(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders46/{id}")
+  public ResponseEntity<Void> op46(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders47")
+  public Result<List<OrderDto>> op47(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users48/{id}")
+  public Result<UserDto> op48(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users49")
+  public ResponseEntity<Page<UserDto>> op49(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders50")
+  public Result<OrderDto> op50(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders51/{id}")
+  public ResponseEntity<OrderDto> op51(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders52/{id}")
+  public ResponseEntity<Void> op52(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders53")
+  public Result<List<OrderDto>> op53(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users54/{id}")
+  public Result<UserDto> op54(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users55")
+  public ResponseEntity<Page<UserDto>> op55(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders56")
+  public Result<OrderDto> op56(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders57/{id}")
+  public ResponseEntity<OrderDto> op57(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders58/{id}")
+  public ResponseEntity<Void> op58(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders59")
+  public Result<List<OrderDto>> op59(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users60/{id}")
+  public Result<UserDto> op60(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users61")
+  public ResponseEntity<Page<UserDto>> op61(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders62")
+  public Result<OrderDto> op62(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders63/{id}")
+  public ResponseEntity<OrderDto> op63(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders64/{id}")
+  public ResponseEntity<Void> op64(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders65")
+  public Result<List<OrderDto>> op65(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users66/{id}")
+  public Result<UserDto> op66(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users67")
+  public ResponseEntity<Page<UserDto>> op67(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders68")
+  public Result<OrderDto> op68(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders69/{id}")
+  public ResponseEntity<OrderDto> op69(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders70/{id}")
+  public ResponseEntity<Void> op70(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders71")
+  public Result<List<OrderDto>> op71(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users72/{id}")
+  public Result<UserDto> op72(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users73")
+  public ResponseEntity<Page<UserDto>> op73(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders74")
+  public Result<OrderDto> op74(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders75/{id}")
+  public ResponseEntity<OrderDto> op75(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders76/{id}")
+  public ResponseEntity<Void> op76(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders77")
+  public Result<List<OrderDto>> op77(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users78/{id}")
+  public Result<UserDto> op78(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users79")
+  public ResponseEntity<Page<UserDto>> op79(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders80")
+  public Result<OrderDto> op80(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders81/{id}")
+  public ResponseEntity<OrderDto> op81(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders82/{id}")
+  public ResponseEntity<Void> op82(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders83")
+  public Result<List<OrderDto>> op83(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users84/{id}")
+  public Result<UserDto> op84(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users85")
+  public ResponseEntity<Page<UserDto>> op85(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders86")
+  public Result<OrderDto> op86(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders87/{id}")
+  public ResponseEntity<OrderDto> op87(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders88/{id}")
+  public ResponseEntity<Void> op88(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders89")
+  public Result<List<OrderDto>> op89(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users90/{id}")
+  public Result<UserDto> op90(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users91")
+  public ResponseEntity<Page<UserDto>> op91(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders92")
+  public Result<OrderDto> op92(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders93/{id}")
+  public ResponseEntity<OrderDto> op93(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders94/{id}")
+  public ResponseEntity<Void> op94(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders95")
+  public Result<List<OrderDto>> op95(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users96/{id}")
+  public Result<UserDto> op96(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users97")
+  public ResponseEntity<Page<UserDto>> op97(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders98")
+  public Result<OrderDto> op98(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders99/{id}")
+  public ResponseEntity<OrderDto> op99(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+}
@@ -0,0 +1,138 @@
+package com.acme.api;
+
+import com.acme.common.Page;
+import com.acme.common.Result;
+import com.acme.dto.OrderDto;
+import com.acme.dto.UserDto;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/medium")
+public class MediumController {
+
+  @GetMapping("/users0/{id}")
+  public Result<UserDto> op0(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users1")
+  public ResponseEntity<Page<UserDto>> op1(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders2")
+  public Result<OrderDto> op2(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders3/{id}")
+  public ResponseEntity<OrderDto> op3(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders4/{id}")
+  public ResponseEntity<Void> op4(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders5")
+  public Result<List<OrderDto>> op5(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users6/{id}")
+  public Result<UserDto> op6(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users7")
+  public ResponseEntity<Page<UserDto>> op7(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders8")
+  public Result<OrderDto> op8(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders9/{id}")
+  public ResponseEntity<OrderDto> op9(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders10/{id}")
+  public ResponseEntity<Void> op10(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders11")
+  public Result<List<OrderDto>> op11(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users12/{id}")
+  public Result<UserDto> op12(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users13")
+  public ResponseEntity<Page<UserDto>> op13(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders14")
+  public Result<OrderDto> op14(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders15/{id}")
+  public ResponseEntity<OrderDto> op15(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders16/{id}")
+  public ResponseEntity<Void> op16(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders17")
+  public Result<List<OrderDto>> op17(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users18/{id}")
+  public Result<UserDto> op18(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users19")
+  public ResponseEntity<Page<UserDto>> op19(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders20")
+  public Result<OrderDto> op20(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders21/{id}")
+  public ResponseEntity<OrderDto> op21(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders22/{id}")
+  public ResponseEntity<Void> op22(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/orders23")
+  public Result<List<OrderDto>> op23(@RequestParam(value = "status", required = false) String status, @RequestHeader("X-Tenant") String tenant) {
+    return null;
+  }
+
+  @GetMapping("/users24/{id}")
+  public Result<UserDto> op24(@PathVariable("id") Long id) {
+    return null;
+  }
+}
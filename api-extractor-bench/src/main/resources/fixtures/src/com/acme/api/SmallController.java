@@ -0,0 +1,38 @@
+package com.acme.api;
+
+import com.acme.common.Page;
+import com.acme.common.Result;
+import com.acme.dto.OrderDto;
+import com.acme.dto.UserDto;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/small")
+public class SmallController {
+
+  @GetMapping("/users0/{id}")
+  public Result<UserDto> op0(@PathVariable("id") Long id) {
+    return null;
+  }
+
+  @GetMapping("/users1")
+  public ResponseEntity<Page<UserDto>> op1(@RequestParam(value = "current", defaultValue = "1") int current, @RequestParam(value = "size", required = false) Integer size) {
+    return null;
+  }
+
+  @PostMapping("/orders2")
+  public Result<OrderDto> op2(@RequestBody OrderDto order) {
+    return null;
+  }
+
+  @PutMapping("/orders3/{id}")
+  public ResponseEntity<OrderDto> op3(@PathVariable("id") Long id, @RequestBody OrderDto order) {
+    return null;
+  }
+
+  @DeleteMapping("/orders4/{id}")
+  public ResponseEntity<Void> op4(@PathVariable("id") Long id) {
+    return null;
+  }
+}
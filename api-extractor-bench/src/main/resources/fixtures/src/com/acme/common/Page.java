@@ -0,0 +1,10 @@
+package com.acme.common;
+
+import java.util.List;
+
+public class Page<T> {
+  private List<T> records;
+  private long total;
+  private long size;
+  private long current;
+}
@@ -0,0 +1,7 @@
+package com.acme.common;
+
+public class Result<T> {
+  private int code;
+  private String message;
+  private T data;
+}
@@ -0,0 +1,11 @@
+package com.acme.dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+public class AddressDto {
+  @NotBlank private String street;
+  @NotBlank private String city;
+  @Size(min = 2, max = 2) private String country;
+  private String postcode;
+}
@@ -0,0 +1,13 @@
+package com.acme.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+
+public class OrderDto {
+  private Long id;
+  private UserDto owner;
+  @NotEmpty private List<OrderLineDto> lines;
+  private BigDecimal total;
+  private Status status;
+}
@@ -0,0 +1,10 @@
+package com.acme.dto;
+
+import java.math.BigDecimal;
+import javax.validation.constraints.Min;
+
+public class OrderLineDto {
+  private String sku;
+  @Min(1) private int quantity;
+  private BigDecimal price;
+}
@@ -0,0 +1,9 @@
+package com.acme.dto;
+
+import java.util.Set;
+
+public class RoleDto {
+  private Long id;
+  private String name;
+  private Set<String> permissions;
+}
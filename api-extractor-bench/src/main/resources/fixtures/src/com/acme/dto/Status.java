@@ -0,0 +1,7 @@
+package com.acme.dto;
+
+public enum Status {
+  ACTIVE,
+  SUSPENDED,
+  DELETED
+}
@@ -0,0 +1,19 @@
+package com.acme.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class UserDto {
+  @NotNull private Long id;
+  @Size(max = 64) private String name;
+  @Email private String email;
+  private Status status;
+  private AddressDto address;
+  private List<RoleDto> roles;
+  private Map<String, String> attributes;
+  private OffsetDateTime createdAt;
+}
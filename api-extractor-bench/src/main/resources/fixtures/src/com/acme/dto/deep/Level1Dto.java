@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level1Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level2Dto child;
+  private List<Level2Dto> children;
+}
@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level2Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level3Dto child;
+  private List<Level3Dto> children;
+}
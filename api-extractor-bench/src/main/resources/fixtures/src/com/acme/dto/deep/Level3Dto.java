@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level3Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level4Dto child;
+  private List<Level4Dto> children;
+}
@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level4Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level5Dto child;
+  private List<Level5Dto> children;
+}
@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level5Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level6Dto child;
+  private List<Level6Dto> children;
+}
@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level6Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level7Dto child;
+  private List<Level7Dto> children;
+}
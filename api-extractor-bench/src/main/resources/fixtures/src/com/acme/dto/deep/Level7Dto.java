@@ -0,0 +1,11 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level7Dto {
+  private Long id;
+  private String label;
+  private double weight;
+  private Level8Dto child;
+  private List<Level8Dto> children;
+}
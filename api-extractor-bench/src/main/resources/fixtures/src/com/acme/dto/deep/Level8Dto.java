@@ -0,0 +1,9 @@
+package com.acme.dto.deep;
+
+import java.util.List;
+
+public class Level8Dto {
+  private Long id;
+  private String label;
+  private double weight;
+}
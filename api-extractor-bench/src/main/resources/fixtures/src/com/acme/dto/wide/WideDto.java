@@ -0,0 +1,68 @@
+package com.acme.dto.wide;
+
+public class WideDto {
+  private String field00;
+  private Long field01;
+  private int field02;
+  private boolean field03;
+  private double field04;
+  private java.math.BigDecimal field05;
+  private java.time.LocalDate field06;
+  private java.util.List<String> field07;
+  private com.acme.dto.Status field08;
+  private com.acme.dto.AddressDto field09;
+  private String field10;
+  private Long field11;
+  private int field12;
+  private boolean field13;
+  private double field14;
+  private java.math.BigDecimal field15;
+  private java.time.LocalDate field16;
+  private java.util.List<String> field17;
+  private com.acme.dto.Status field18;
+  private com.acme.dto.AddressDto field19;
+  private String field20;
+  private Long field21;
+  private int field22;
+  private boolean field23;
+  private double field24;
+  private java.math.BigDecimal field25;
+  private java.time.LocalDate field26;
+  private java.util.List<String> field27;
+  private com.acme.dto.Status field28;
+  private com.acme.dto.AddressDto field29;
+  private String field30;
+  private Long field31;
+  private int field32;
+  private boolean field33;
+  private double field34;
+  private java.math.BigDecimal field35;
+  private java.time.LocalDate field36;
+  private java.util.List<String> field37;
+  private com.acme.dto.Status field38;
+  private com.acme.dto.AddressDto field39;
+  private String field40;
+  private Long field41;
+  private int field42;
+  private boolean field43;
+  private double field44;
+  private java.math.BigDecimal field45;
+  private java.time.LocalDate field46;
+  private java.util.List<String> field47;
+  private com.acme.dto.Status field48;
+  private com.acme.dto.AddressDto field49;
+  private String field50;
+  private Long field51;
+  private int field52;
+  private boolean field53;
+  private double field54;
+  private java.math.BigDecimal field55;
+  private java.time.LocalDate field56;
+  private java.util.List<String> field57;
+  private com.acme.dto.Status field58;
+  private com.acme.dto.AddressDto field59;
+  private String field60;
+  private Long field61;
+  private int field62;
+  private boolean field63;
+}
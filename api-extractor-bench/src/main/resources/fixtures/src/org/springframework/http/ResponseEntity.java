@@ -0,0 +1,10 @@
+package org.springframework.http;
+
+public class ResponseEntity<T> {
+  private T body;
+  private int status;
+
+  public T getBody() {
+    return body;
+  }
+}
@@ -16,8 +16,22 @@ import java.util.Set;
 
 public final class BeanValidationSupport {
 
-  public void apply(
-      String propertyName, ResolvedFieldDeclaration field, Schema<?> schema, Set<String> required) {
+  private static final Set<String> SCHEMA_CONSTRAINTS =
+      Set.of("NotBlank", "NotEmpty", "Size", "Min", "DecimalMin", "Max", "DecimalMax", "Pattern");
+
+  private final ScalarSchemas scalarSchemas;
+
+  public BeanValidationSupport(ScalarSchemas scalarSchemas) {
+    this.scalarSchemas = scalarSchemas;
+  }
+
+  public Schema<?> apply(
+      String propertyName,
+      ResolvedFieldDeclaration field,
+      Schema<?> propertySchema,
+      Set<String> required) {
+    Schema<?> schema =
+        hasSchemaConstraints(field) ? scalarSchemas.writable(propertySchema) : propertySchema;
     if (hasAny(field, "javax.validation.constraints.NotNull", "jakarta.validation.constraints.NotNull")) {
       required.add(propertyName);
     }
@@ -38,6 +52,16 @@ public final class BeanValidationSupport {
     applyMin(field, schema);
     applyMax(field, schema);
     applyPattern(field, schema);
+    return schema;
+  }
+
+  private boolean hasSchemaConstraints(ResolvedFieldDeclaration field) {
+    return toAst(field)
+        .map(
+            ast ->
+                ast.getAnnotations().stream()
+                    .anyMatch(ann -> SCHEMA_CONSTRAINTS.contains(ann.getName().getIdentifier())))
+        .orElse(false);
   }
 
   private boolean hasAny(ResolvedFieldDeclaration field, String... annotations) {
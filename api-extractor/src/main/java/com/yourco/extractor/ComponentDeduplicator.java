@@ -0,0 +1,175 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges structurally identical component schemas into one canonical component.
+ *
+ * <p>Equivalence is computed by partition refinement: components start in one class and are split
+ * by the hash of their shape, where every {@code $ref} is replaced by the class of its target. This
+ * also merges isomorphic recursive types, which plain name substitution cannot.
+ */
+public final class ComponentDeduplicator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentDeduplicator.class);
+  private static final ObjectMapper CANONICAL_MAPPER =
+      JsonMapper.builder()
+          .serializationInclusion(JsonInclude.Include.NON_NULL)
+          .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+          .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+          .build();
+
+  public Result deduplicate(Map<String, Schema> components, Paths paths) {
+    if (components.size() < 2) {
+      return new Result(0, 0);
+    }
+    List<String> names = new ArrayList<>(components.keySet());
+    Map<String, JsonNode> trees = new LinkedHashMap<>();
+    Map<String, List<RefSlot>> refSlots = new HashMap<>();
+    for (String name : names) {
+      JsonNode tree = CANONICAL_MAPPER.valueToTree(components.get(name));
+      List<RefSlot> refs = new ArrayList<>();
+      collectRefNodes(tree, refs);
+      trees.put(name, tree);
+      refSlots.put(name, refs);
+    }
+
+    Map<String, Integer> classes = new HashMap<>();
+    names.forEach(name -> classes.put(name, 0));
+    int classCount = 1;
+    while (true) {
+      Map<String, Integer> refined = refine(names, trees, refSlots, classes);
+      int refinedCount = (int) refined.values().stream().distinct().count();
+      classes.putAll(refined);
+      if (refinedCount == classCount) {
+        break;
+      }
+      classCount = refinedCount;
+    }
+
+    Map<Integer, String> canonicalByClass = new HashMap<>();
+    Map<String, String> replacements = new HashMap<>();
+    for (String name : names) {
+      String canonical = canonicalByClass.putIfAbsent(classes.get(name), name);
+      if (canonical != null) {
+        replacements.put(name, canonical);
+      }
+    }
+    if (replacements.isEmpty()) {
+      return new Result(0, 0);
+    }
+
+    long bytesSaved = 0;
+    for (String duplicate : replacements.keySet()) {
+      bytesSaved += serializedSize(components.remove(duplicate));
+    }
+    rewriteRefs(components, paths, replacements);
+    Result result = new Result(replacements.size(), bytesSaved);
+    LOGGER.info(
+        "Deduplicated {} structurally identical components ({} bytes saved)",
+        result.componentsRemoved(),
+        result.bytesSaved());
+    return result;
+  }
+
+  private Map<String, Integer> refine(
+      List<String> names,
+      Map<String, JsonNode> trees,
+      Map<String, List<RefSlot>> refSlots,
+      Map<String, Integer> classes) {
+    Map<String, Integer> classByKey = new HashMap<>();
+    Map<String, Integer> refined = new HashMap<>();
+    MessageDigest digest = sha256();
+    for (String name : names) {
+      for (RefSlot slot : refSlots.get(name)) {
+        Integer targetClass = classes.get(slot.target());
+        slot.node().put("$ref", targetClass != null ? "#" + targetClass : slot.target());
+      }
+      digest.reset();
+      digest.update(ByteBuffer.allocate(4).putInt(classes.get(name)).array());
+      digest.update(canonicalBytes(trees.get(name)));
+      String key = HexFormat.of().formatHex(digest.digest());
+      refined.put(name, classByKey.computeIfAbsent(key, k -> classByKey.size()));
+    }
+    return refined;
+  }
+
+  private void collectRefNodes(JsonNode node, List<RefSlot> refs) {
+    if (node instanceof ObjectNode object) {
+      JsonNode ref = object.get("$ref");
+      if (ref != null && ref.isTextual()) {
+        String target = SchemaRefs.componentName(ref.asText());
+        refs.add(new RefSlot(object, target != null ? target : ref.asText()));
+      }
+    }
+    Iterator<JsonNode> children = node.elements();
+    while (children.hasNext()) {
+      collectRefNodes(children.next(), refs);
+    }
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private void rewriteRefs(
+      Map<String, Schema> components, Paths paths, Map<String, String> replacements) {
+    Consumer<Schema<?>> rewriter =
+        schema -> {
+          String target = SchemaRefs.componentName(schema.get$ref());
+          String canonical = target != null ? replacements.get(target) : null;
+          if (canonical != null) {
+            schema.set$ref(SchemaRefs.componentRef(canonical));
+          }
+        };
+    SchemaRefs.visitComponents(components, rewriter);
+    SchemaRefs.visitPaths(paths, rewriter);
+  }
+
+  private byte[] canonicalBytes(JsonNode tree) {
+    try {
+      return CANONICAL_MAPPER.writeValueAsBytes(tree);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unable to serialize schema", ex);
+    }
+  }
+
+  private long serializedSize(Schema<?> schema) {
+    try {
+      return CANONICAL_MAPPER.writeValueAsBytes(schema).length;
+    } catch (JsonProcessingException ex) {
+      return 0;
+    }
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+
+  private record RefSlot(ObjectNode node, String target) {}
+
+  public record Result(int componentsRemoved, long bytesSaved) {}
+}
@@ -0,0 +1,74 @@
+package com.yourco.extractor;
+
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Drops component schemas that are not reachable from any operation. */
+public final class ComponentPruner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentPruner.class);
+
+  public int prune(Map<String, Schema> components, Paths paths) {
+    Set<String> roots = new HashSet<>();
+    SchemaRefs.visitPaths(
+        paths,
+        schema -> {
+          String target = SchemaRefs.componentName(schema.get$ref());
+          if (target != null) {
+            roots.add(target);
+          }
+        });
+    return prune(components, roots);
+  }
+
+  public int prune(Map<String, Schema> components, Set<String> roots) {
+    return prune(components, null, roots);
+  }
+
+  /** Prunes in-memory and spilled components together; {@code spilled} may be null. */
+  public int prune(Map<String, Schema> components, ComponentStore spilled, Set<String> roots) {
+    Set<String> reachable = new HashSet<>(roots);
+    Deque<String> pending = new ArrayDeque<>(roots);
+    Consumer<Schema<?>> mark =
+        schema -> {
+          String target = SchemaRefs.componentName(schema.get$ref());
+          if (target != null && reachable.add(target)) {
+            pending.add(target);
+          }
+        };
+    while (!pending.isEmpty()) {
+      String name = pending.poll();
+      if (spilled != null && spilled.contains(name)) {
+        for (String target : spilled.refs(name)) {
+          if (reachable.add(target)) {
+            pending.add(target);
+          }
+        }
+      } else {
+        SchemaRefs.visitTree(components.get(name), mark);
+      }
+    }
+
+    int removed = spilled != null ? spilled.retain(reachable) : 0;
+    Iterator<String> names = components.keySet().iterator();
+    while (names.hasNext()) {
+      if (!reachable.contains(names.next())) {
+        names.remove();
+        removed++;
+      }
+    }
+    if (removed > 0) {
+      LOGGER.info("Pruned {} unreachable components", removed);
+    }
+    return removed;
+  }
+}
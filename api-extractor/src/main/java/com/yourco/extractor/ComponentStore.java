@@ -0,0 +1,278 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.swagger.v3.oas.models.media.Schema;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Temporary on-disk store for finished component schemas under {@code limits.memoryBudget}.
+ *
+ * <p>{@link SchemaGenerator} reports the estimated retained size of every component it builds;
+ * once the total passes the budget, it moves all finished components here. Each one becomes a
+ * deflated record of its compact JSON in a temporary file, and only its offset and the names it
+ * references stay on the heap, enough for lookups and pruning. When the document is written the
+ * records are copied token by token into the output generator, so they are never turned back into
+ * schema objects.
+ */
+public final class ComponentStore implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ComponentStore.class);
+  // Same property order as the document mappers, so copied records match inline serialization.
+  private static final ObjectMapper MAPPER =
+      JsonMapper.builder().enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY).build();
+  private static final long SCHEMA_BYTES = 320;
+  private static final long ENTRY_BYTES = 48;
+
+  private final long budgetBytes;
+  private final RunMetrics metrics;
+  private final Map<String, Slot> slots = new HashMap<>();
+  private final List<String> names = new ArrayList<>();
+  private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+  private final Inflater inflater = new Inflater();
+  private FileChannel channel;
+  private long size;
+  private long retained;
+
+  public ComponentStore(long budgetBytes, RunMetrics metrics) {
+    this.budgetBytes = budgetBytes;
+    this.metrics = metrics;
+  }
+
+  /** Parses a size such as {@code 536870912}, {@code 800k}, {@code 512m} or {@code 2g}. */
+  public static long parseBudget(String value) {
+    String normalized = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    long unit = 1;
+    if (normalized.endsWith("k") || normalized.endsWith("m") || normalized.endsWith("g")) {
+      unit =
+          switch (normalized.charAt(normalized.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            default -> 1L << 30;
+          };
+      normalized = normalized.substring(0, normalized.length() - 1);
+    }
+    try {
+      long amount = Long.parseLong(normalized);
+      if (amount > 0) {
+        return amount * unit;
+      }
+    } catch (NumberFormatException ex) {
+      // reported below
+    }
+    throw new IllegalArgumentException(
+        "Unsupported memory budget '" + value + "' (expected a positive size like 512m or 2g)");
+  }
+
+  /** Rough heap footprint of a component: schema nodes, map entries and their strings. */
+  @SuppressWarnings("rawtypes")
+  public static long estimate(Schema<?> schema) {
+    long[] bytes = new long[1];
+    SchemaRefs.visitTree(
+        schema,
+        node -> {
+          bytes[0] +=
+              SCHEMA_BYTES
+                  + chars(node.get$ref())
+                  + chars(node.getType())
+                  + chars(node.getFormat())
+                  + chars(node.getDescription())
+                  + chars(node.getPattern());
+          Map<String, Schema> properties = node.getProperties();
+          if (properties != null) {
+            for (String name : properties.keySet()) {
+              bytes[0] += ENTRY_BYTES + chars(name);
+            }
+          }
+          if (node.getEnum() != null) {
+            for (Object value : node.getEnum()) {
+              bytes[0] += ENTRY_BYTES + chars(String.valueOf(value));
+            }
+          }
+          if (node.getRequired() != null) {
+            for (String name : node.getRequired()) {
+              bytes[0] += ENTRY_BYTES + chars(name);
+            }
+          }
+        });
+    return bytes[0];
+  }
+
+  private static long chars(String value) {
+    return value == null ? 0 : 40 + 2L * value.length();
+  }
+
+  /** Adds to the retained size of in-memory components; true once it exceeds the budget. */
+  public boolean track(long bytes) {
+    retained += bytes;
+    return retained > budgetBytes;
+  }
+
+  /** Moves every schema of {@code components} to disk and empties the map. */
+  @SuppressWarnings("rawtypes")
+  public void spill(Map<String, Schema> components) {
+    if (components.isEmpty()) {
+      return;
+    }
+    try {
+      if (channel == null) {
+        Path file = Files.createTempFile("extractor-components", ".spill");
+        channel =
+            FileChannel.open(
+                file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE);
+      }
+      long written = 0;
+      for (Map.Entry<String, Schema> entry : components.entrySet()) {
+        written += append(entry.getKey(), entry.getValue());
+      }
+      LOGGER.debug(
+          "Spilled {} components ({} KiB estimated, {} KiB on disk)",
+          components.size(),
+          retained >> 10,
+          written >> 10);
+      metrics.add(RunMetrics.COMPONENTS_SPILLED, components.size());
+      metrics.add(RunMetrics.SPILL_BYTES, written);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to spill components", ex);
+    }
+    components.clear();
+    retained = 0;
+  }
+
+  private int append(String name, Schema<?> schema) throws IOException {
+    byte[] json = MAPPER.writeValueAsBytes(schema);
+    deflater.reset();
+    deflater.setInput(json);
+    deflater.finish();
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+    byte[] buffer = new byte[8192];
+    while (!deflater.finished()) {
+      compressed.write(buffer, 0, deflater.deflate(buffer));
+    }
+    ByteBuffer record = ByteBuffer.wrap(compressed.toByteArray());
+    int length = record.remaining();
+    long offset = size;
+    while (record.hasRemaining()) {
+      channel.write(record, offset + length - record.remaining());
+    }
+    size += length;
+    Set<String> refs = new HashSet<>();
+    SchemaRefs.visitTree(
+        schema,
+        node -> {
+          String target = SchemaRefs.componentName(node.get$ref());
+          if (target != null) {
+            refs.add(target);
+          }
+        });
+    if (slots.put(name, new Slot(offset, length, json.length, Set.copyOf(refs))) == null) {
+      names.add(name);
+    }
+    return length;
+  }
+
+  public boolean contains(String name) {
+    return slots.containsKey(name);
+  }
+
+  public boolean isEmpty() {
+    return slots.isEmpty();
+  }
+
+  public int count() {
+    return slots.size();
+  }
+
+  /** Spilled component names in the order they were spilled. */
+  public List<String> names() {
+    return names;
+  }
+
+  /** Component names referenced by a spilled component. */
+  public Set<String> refs(String name) {
+    Slot slot = slots.get(name);
+    return slot == null ? Set.of() : slot.refs();
+  }
+
+  /** Drops spilled components that are not in {@code keep}; returns how many were dropped. */
+  public int retain(Set<String> keep) {
+    int before = names.size();
+    names.removeIf(name -> !keep.contains(name));
+    slots.keySet().retainAll(keep);
+    return before - names.size();
+  }
+
+  /**
+   * Writes a spilled component to {@code gen}. Numbers are copied as text, so decimals keep the
+   * scale they were serialized with.
+   */
+  public void copy(String name, JsonGenerator gen) throws IOException {
+    Slot slot = slots.get(name);
+    if (slot == null) {
+      throw new IllegalArgumentException("Component " + name + " was not spilled");
+    }
+    ByteBuffer compressed = ByteBuffer.allocate(slot.length());
+    while (compressed.hasRemaining()) {
+      if (channel.read(compressed, slot.offset() + compressed.position()) < 0) {
+        throw new IOException("Spill file truncated at component " + name);
+      }
+    }
+    byte[] json = new byte[slot.rawLength()];
+    inflater.reset();
+    inflater.setInput(compressed.array());
+    try {
+      int read = 0;
+      while (read < json.length && !inflater.finished()) {
+        read += inflater.inflate(json, read, json.length - read);
+      }
+    } catch (DataFormatException ex) {
+      throw new IOException("Corrupt spill record for component " + name, ex);
+    }
+    try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+      for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+          gen.writeNumber(parser.getText());
+        } else {
+          gen.copyCurrentEvent(parser);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    deflater.end();
+    inflater.end();
+    if (channel != null) {
+      channel.close();
+    }
+  }
+
+  private record Slot(long offset, int length, int rawLength, Set<String> refs) {}
+}
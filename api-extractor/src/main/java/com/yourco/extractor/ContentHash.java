@@ -0,0 +1,75 @@
+package com.yourco.extractor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * SHA-256 sidecar for a written document, in {@code sha256sum} format next to the output.
+ *
+ * <p>Documents are rendered to a temporary file first; {@link #commit} only replaces the output
+ * (and so only changes its mtime) when the hash differs from the one recorded by the last run.
+ */
+public final class ContentHash {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ContentHash.class);
+  private static final String SIDECAR_SUFFIX = ".sha256";
+
+  private ContentHash() {}
+
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+
+  public static Path sidecar(Path output) {
+    return output.resolveSibling(output.getFileName() + SIDECAR_SUFFIX);
+  }
+
+  /** Moves {@code rendered} over {@code output} unless its content is unchanged; true if moved. */
+  public static boolean commit(Path rendered, Path output, byte[] digest) throws IOException {
+    String hash = HexFormat.of().formatHex(digest);
+    Path sidecar = sidecar(output);
+    if (Files.exists(output)
+        && Files.size(output) == Files.size(rendered)
+        && recorded(sidecar).filter(hash::equals).isPresent()) {
+      Files.delete(rendered);
+      LOGGER.info("Output {} unchanged (sha256 {})", output, hash);
+      return false;
+    }
+    try {
+      Files.move(
+          rendered, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException ex) {
+      Files.move(rendered, output, StandardCopyOption.REPLACE_EXISTING);
+    }
+    Files.writeString(sidecar, hash + "  " + output.getFileName() + "\n", StandardCharsets.UTF_8);
+    return true;
+  }
+
+  private static Optional<String> recorded(Path sidecar) {
+    if (!Files.isRegularFile(sidecar)) {
+      return Optional.empty();
+    }
+    try {
+      String line = Files.readString(sidecar, StandardCharsets.UTF_8).trim();
+      int space = line.indexOf(' ');
+      return Optional.of(space > 0 ? line.substring(0, space) : line);
+    } catch (IOException ex) {
+      LOGGER.debug("Failed to read {}: {}", sidecar, ex.getMessage());
+      return Optional.empty();
+    }
+  }
+}
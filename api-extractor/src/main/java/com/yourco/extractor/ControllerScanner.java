@@ -2,6 +2,7 @@ package com.yourco.extractor;
 
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
@@ -14,6 +15,7 @@ import com.github.javaparser.ast.expr.MemberValuePair;
 import com.github.javaparser.ast.expr.NormalAnnotationExpr;
 import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
 import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.types.ResolvedType;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.yourco.extractor.model.Endpoint;
 import com.yourco.extractor.model.Param;
@@ -21,7 +23,6 @@ import com.yourco.extractor.model.ParameterLocation;
 import com.yourco.extractor.model.Payload;
 import com.yourco.extractor.types.JavaType;
 import com.yourco.extractor.types.Types;
-import com.yourco.extractor.wrapper.WrapperMeta;
 import com.yourco.extractor.wrapper.WrapperStripper;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -53,28 +54,70 @@ public final class ControllerScanner {
   private final JavaParser parser;
   private final JavaParserFacade typeResolver;
   private final WrapperStripper wrapperStripper;
+  private final RunContext context;
+  private final ExtractionBudget budget;
+  private final RunMetrics metrics;
+  private ExtractionBudget.Scope fileScope;
+  private int fileOrder;
 
-  public ControllerScanner(ProjectClasspath classpath, ExtractorConfig config) {
+  public ControllerScanner(ProjectClasspath classpath, ExtractorConfig config, RunContext context) {
     this.classpath = classpath;
     this.config = config;
     this.parser = new JavaParser(classpath.getParserConfiguration());
     this.typeResolver = JavaParserFacade.get(classpath.getTypeSolver());
-    this.wrapperStripper = new WrapperStripper(config);
+    this.wrapperStripper = new WrapperStripper(config, context.diagnostics());
+    this.context = context;
+    this.budget = context.budget();
+    this.metrics = context.metrics();
   }
 
   public List<Endpoint> scan() {
+    return scan(SourceShard.ALL);
+  }
+
+  /**
+   * Extracts the endpoints of the files in {@code shard}. Files are walked in path order, not in
+   * directory listing order, and every file still gets its position in the full walk, so
+   * endpoints of all shards can be put back into single-process order.
+   */
+  public List<Endpoint> scan(SourceShard shard) {
     List<Endpoint> endpoints = new ArrayList<>();
+    int[] skipped = new int[1];
+    int[] order = new int[1];
     for (Path sourceDir : config.getSourceDirectories()) {
       try (Stream<Path> stream = Files.walk(sourceDir)) {
         stream
             .filter(Files::isRegularFile)
             .filter(this::isJavaFile)
-            .filter(path -> !isExcluded(sourceDir, path))
-            .forEach(path -> parseFile(path).ifPresent(endpoints::addAll));
+            .sorted()
+            .forEach(
+                path -> {
+                  fileOrder = order[0]++;
+                  if (!shard.includes(sourceDir.relativize(path))) {
+                    return;
+                  }
+                  if (isExcluded(sourceDir, path)) {
+                    metrics.increment(RunMetrics.FILES_SKIPPED);
+                    return;
+                  }
+                  if (budget.isTotalExpired()) {
+                    metrics.increment(RunMetrics.FILES_SKIPPED);
+                    skipped[0]++;
+                    return;
+                  }
+                  String name = path.getFileName().toString();
+                  context
+                      .trace()
+                      .call("file", name, path.toString(), () -> parseFile(path))
+                      .ifPresent(endpoints::addAll);
+                });
       } catch (IOException ex) {
         LOGGER.warn("Failed to scan directory {}: {}", sourceDir, ex.getMessage());
       }
     }
+    if (skipped[0] > 0) {
+      budget.record("Skipped " + skipped[0] + " source files after the total budget was exceeded");
+    }
     return endpoints;
   }
 
@@ -88,11 +131,44 @@ public final class ControllerScanner {
   }
 
   private Optional<List<Endpoint>> parseFile(Path path) {
-    try {
-      return parser.parse(path).getResult().map(cu -> extractEndpoints(cu, path));
+    try (ExtractionBudget.Scope scope = budget.startFile(path)) {
+      fileScope = scope;
+      metrics.increment(RunMetrics.FILES_SCANNED);
+      ExtractorEvents.FileParsed event = new ExtractorEvents.FileParsed();
+      event.begin();
+      ParseResult<CompilationUnit> result = context.call("scan.parse", () -> parser.parse(path));
+      if (result.getResult().isEmpty()) {
+        metrics.increment(RunMetrics.FILES_FAILED);
+      }
+      if (!result.getProblems().isEmpty()) {
+        context
+            .diagnostics()
+            .report(
+                Diagnostics.Kind.PARSE_FAILED,
+                path.toString(),
+                result.getProblems().get(0).getMessage());
+      }
+      Optional<List<Endpoint>> endpoints =
+          context.call(
+              "scan.resolve", () -> result.getResult().map(cu -> extractEndpoints(cu, path)));
+      event.end();
+      if (event.shouldCommit()) {
+        event.path = path.toString();
+        event.bytes = Files.size(path);
+        event.parsed = result.getResult().isPresent();
+        event.endpoints = endpoints.map(List::size).orElse(0);
+        event.commit();
+      }
+      if (scope.isExpired()) {
+        budget.record("Truncated " + path + " after exceeding its resolution budget");
+      }
+      return endpoints;
     } catch (IOException | ParseProblemException ex) {
-      LOGGER.warn("Failed to parse {}: {}", path, ex.getMessage());
+      metrics.increment(RunMetrics.FILES_FAILED);
+      context.diagnostics().report(Diagnostics.Kind.PARSE_FAILED, path.toString(), ex.getMessage());
       return Optional.empty();
+    } finally {
+      fileScope = null;
     }
   }
 
@@ -104,6 +180,9 @@ public final class ControllerScanner {
     }
     List<Endpoint> endpoints = new ArrayList<>();
     for (ClassOrInterfaceDeclaration clazz : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+      if (isFileBudgetExceeded()) {
+        break;
+      }
       if (!clazz.isInterface() && isController(clazz)) {
         endpoints.addAll(extractEndpoints(clazz, packageName));
       }
@@ -120,9 +199,14 @@ public final class ControllerScanner {
     List<String> classPaths = defaultIfEmpty(classMapping.paths, List.of(""));
     List<String> classConsumes = defaultIfEmpty(classMapping.consumes, List.of());
     List<String> classProduces = defaultIfEmpty(classMapping.produces, List.of());
+    String controller =
+        clazz.getFullyQualifiedName().orElse(packageName + "." + clazz.getNameAsString());
 
     List<Endpoint> endpoints = new ArrayList<>();
     for (MethodDeclaration method : clazz.getMethods()) {
+      if (isFileBudgetExceeded()) {
+        break;
+      }
       if (!method.isPublic()) {
         continue;
       }
@@ -130,98 +214,136 @@ public final class ControllerScanner {
       if (mappingOpt.isEmpty()) {
         continue;
       }
-      MappingInfo mapping = mappingOpt.get();
-      List<String> httpMethods = defaultIfEmpty(mapping.methods, List.of("GET"));
-      List<String> methodPaths = defaultIfEmpty(mapping.paths, List.of(""));
-      List<String> consumes = mapping.consumes.isEmpty() ? classConsumes : mapping.consumes;
-      List<String> produces = mapping.produces.isEmpty() ? classProduces : mapping.produces;
-      List<String> normalizedConsumes = Util.normalizeMediaTypes(consumes, config);
-      List<String> normalizedProduces = Util.normalizeMediaTypes(produces, config);
-
-      Payload requestBody = null;
-      List<Param> params = new ArrayList<>();
-
-      for (Parameter parameter : method.getParameters()) {
-        ParameterDescriptor descriptor = describeParameter(parameter);
-        if (descriptor == null) {
-          continue;
-        }
-        if (descriptor.isRequestBody()) {
-          JavaType type = descriptor.getJavaType();
-          if (type == null) {
-            continue;
-          }
-          List<String> mediaTypes = normalizedConsumes.isEmpty()
-              ? List.of("application/json")
-              : normalizedConsumes;
-          requestBody =
-              Payload.builder()
-                  .javaType(type)
-                  .mediaTypes(mediaTypes)
-                  .required(descriptor.isRequired())
-                  .build();
-        } else {
-          if (config.isParameterIgnored(descriptor.getName())) {
-            continue;
-          }
-          JavaType type = descriptor.getJavaType();
-          if (type == null) {
-            continue;
-          }
-          params.add(
-              Param.builder()
-                  .name(descriptor.getName())
-                  .location(descriptor.getLocation())
-                  .required(descriptor.isRequired())
-                  .javaType(type)
-                  .defaultValue(descriptor.getDefaultValue())
-                  .build());
+      String handler = clazz.getNameAsString() + "." + method.getNameAsString();
+      endpoints.addAll(
+          context
+              .trace()
+              .call(
+                  "endpoint",
+                  handler,
+                  () ->
+                      extractEndpoint(
+                          method,
+                          mappingOpt.get(),
+                          classPaths,
+                          classConsumes,
+                          classProduces,
+                          packageName,
+                          controller)));
+    }
+    return endpoints;
+  }
+
+  private List<Endpoint> extractEndpoint(
+      MethodDeclaration method,
+      MappingInfo mapping,
+      List<String> classPaths,
+      List<String> classConsumes,
+      List<String> classProduces,
+      String packageName,
+      String controller) {
+    List<Endpoint> endpoints = new ArrayList<>();
+    List<String> httpMethods = defaultIfEmpty(mapping.methods, List.of("GET"));
+    List<String> methodPaths = defaultIfEmpty(mapping.paths, List.of(""));
+    List<String> fullPaths = new ArrayList<>();
+    for (String classPath : classPaths) {
+      for (String methodPath : methodPaths) {
+        String fullPath = Util.concatPath(classPath, methodPath);
+        if (!config.isPathIgnored(fullPath)) {
+          fullPaths.add(fullPath);
         }
       }
+    }
+    if (fullPaths.isEmpty()) {
+      return endpoints;
+    }
+    List<String> consumes = mapping.consumes.isEmpty() ? classConsumes : mapping.consumes;
+    List<String> produces = mapping.produces.isEmpty() ? classProduces : mapping.produces;
+    List<String> normalizedConsumes = Util.normalizeMediaTypes(consumes, config);
+    List<String> normalizedProduces = Util.normalizeMediaTypes(produces, config);
+
+    Payload requestBody = null;
+    List<Param> params = new ArrayList<>();
 
-      JavaType responseType = resolveType(method.getType()).orElse(null);
-      if (responseType == null || responseType.isVoid()) {
-        responseType = resolveObjectType();
+    for (Parameter parameter : method.getParameters()) {
+      ParameterDescriptor descriptor = describeParameter(parameter);
+      if (descriptor == null) {
+        continue;
       }
-      JavaType payloadType = wrapperStripper.strip(responseType);
-      Optional<WrapperMeta> wrapperMeta = wrapperStripper.meta(responseType);
-      List<String> responseMedia = normalizedProduces.isEmpty()
-          ? List.of("application/json")
-          : normalizedProduces;
-      Payload responsePayload =
-          Payload.builder()
-              .javaType(payloadType)
-              .mediaTypes(responseMedia)
-              .required(false)
-              .wrapperMeta(wrapperMeta.orElse(null))
-              .build();
-
-      for (String classPath : classPaths) {
-        for (String methodPath : methodPaths) {
-          String fullPath = Util.concatPath(classPath, methodPath);
-          if (config.isPathIgnored(fullPath)) {
-            continue;
-          }
-          for (String httpMethod : httpMethods) {
-            Endpoint endpoint =
-                Endpoint.builder()
-                    .httpMethod(Types.normalizeHttpMethod(httpMethod))
-                    .fullPath(fullPath)
-                    .params(params)
-                    .requestBody(requestBody)
-                    .response(responsePayload)
-                    .consumes(normalizedConsumes)
-                    .produces(normalizedProduces)
-                    .operationId(packageName + "." + method.getNameAsString())
-                    .build();
-            endpoints.add(endpoint);
-          }
+      if (descriptor.isRequestBody()) {
+        JavaType type = descriptor.getJavaType();
+        if (type == null) {
+          continue;
         }
+        List<String> mediaTypes = normalizedConsumes.isEmpty()
+            ? List.of("application/json")
+            : normalizedConsumes;
+        requestBody =
+            Payload.builder()
+                .javaType(type)
+                .mediaTypes(mediaTypes)
+                .required(descriptor.isRequired())
+                .build();
+      } else {
+        if (config.isParameterIgnored(descriptor.getName())) {
+          continue;
+        }
+        JavaType type = descriptor.getJavaType();
+        if (type == null) {
+          continue;
+        }
+        params.add(
+            Param.builder()
+                .name(descriptor.getName())
+                .location(descriptor.getLocation())
+                .required(descriptor.isRequired())
+                .javaType(type)
+                .defaultValue(descriptor.getDefaultValue())
+                .build());
+      }
+    }
+
+    JavaType responseType = resolveType(method.getType()).orElse(null);
+    if (responseType == null || responseType.isVoid()) {
+      responseType = resolveObjectType();
+    }
+    WrapperStripper.WrapperResult unwrapped = wrapperStripper.unwrap(responseType);
+    List<String> responseMedia = normalizedProduces.isEmpty()
+        ? List.of("application/json")
+        : normalizedProduces;
+    Payload responsePayload =
+        Payload.builder()
+            .javaType(unwrapped.payload())
+            .mediaTypes(responseMedia)
+            .required(false)
+            .wrapperMeta(unwrapped.meta())
+            .build();
+
+    for (String fullPath : fullPaths) {
+      for (String httpMethod : httpMethods) {
+        Endpoint endpoint =
+            Endpoint.builder()
+                .httpMethod(Types.normalizeHttpMethod(httpMethod))
+                .fullPath(fullPath)
+                .params(params)
+                .requestBody(requestBody)
+                .response(responsePayload)
+                .consumes(normalizedConsumes)
+                .produces(normalizedProduces)
+                .operationId(packageName + "." + method.getNameAsString())
+                .controller(controller)
+                .sourceOrder(fileOrder)
+                .build();
+        endpoints.add(endpoint);
       }
     }
     return endpoints;
   }
 
+  private boolean isFileBudgetExceeded() {
+    return fileScope != null && fileScope.isExpired();
+  }
+
   private JavaType resolveObjectType() {
     Type objectType = StaticJavaParser.parseType("java.lang.Object");
     return resolveType(objectType)
@@ -288,11 +410,26 @@ public final class ControllerScanner {
   }
 
   private Optional<JavaType> resolveType(Type type) {
+    metrics.increment(RunMetrics.RESOLUTION_CALLS);
+    ExtractorEvents.TypeResolved event = new ExtractorEvents.TypeResolved();
+    event.begin();
+    ResolvedType resolved = null;
     try {
-      return Optional.of(JavaType.from(typeResolver.convertToUsage(type)));
+      resolved = typeResolver.convertToUsage(type);
+      return Optional.of(JavaType.from(resolved));
     } catch (RuntimeException ex) {
-      LOGGER.debug("Failed to resolve type {}: {}", type, ex.getMessage());
+      metrics.increment(RunMetrics.RESOLUTION_FAILURES);
+      context
+          .diagnostics()
+          .report(Diagnostics.Kind.TYPE_UNRESOLVED, type.asString(), ex.getMessage());
       return Optional.empty();
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.type = type.asString();
+        event.solver = ExtractorEvents.solverOf(resolved);
+        event.commit();
+      }
     }
   }
 
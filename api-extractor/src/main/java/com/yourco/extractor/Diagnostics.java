@@ -0,0 +1,194 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts recurring problems of a run by kind and key instead of logging every occurrence.
+ *
+ * <p>The first {@value #LOGGED_PER_KIND} occurrences of each kind are still logged as they happen;
+ * the rest are only counted, deduplicated by key (a file, a type) with the first detail kept as an
+ * example. {@link #summary()} renders one table for the end of the run and {@link #write} the full
+ * list of keys. Safe to use from several threads.
+ */
+public final class Diagnostics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(Diagnostics.class);
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final int LOGGED_PER_KIND = 3;
+  private static final int MAX_KEYS_PER_KIND = 10_000;
+  private static final int SUMMARY_EXAMPLE_LENGTH = 90;
+
+  public enum Kind {
+    PARSE_FAILED("parse-failed", "Source file could not be parsed", true),
+    TYPE_UNRESOLVED("type-unresolved", "Type could not be resolved", false),
+    DECLARATION_UNSUPPORTED("declaration-unsupported", "Type declaration not supported", false),
+    ANCESTORS_UNRESOLVED("ancestors-unresolved", "Supertypes could not be resolved", false),
+    DEPTH_LIMIT("depth-limit", "Depth limit exceeded", true),
+    PROPERTY_LIMIT("property-limit", "Property limit exceeded", true);
+
+    private final String id;
+    private final String description;
+    private final boolean warning;
+
+    Kind(String id, String description, boolean warning) {
+      this.id = id;
+      this.description = description;
+      this.warning = warning;
+    }
+
+    public String id() {
+      return id;
+    }
+  }
+
+  private final Map<Kind, KindStats> kinds = new EnumMap<>(Kind.class);
+
+  public Diagnostics() {
+    for (Kind kind : Kind.values()) {
+      kinds.put(kind, new KindStats());
+    }
+  }
+
+  /**
+   * Records one occurrence of {@code kind} for {@code key}; {@code detail} (usually an exception
+   * message) is kept for the first occurrence of each key.
+   */
+  public void report(Kind kind, String key, String detail) {
+    KindStats stats = kinds.get(kind);
+    stats.total.increment();
+    Entry entry = stats.keys.get(key);
+    if (entry == null) {
+      if (stats.keys.size() < MAX_KEYS_PER_KIND) {
+        entry = stats.keys.computeIfAbsent(key, k -> new Entry(detail));
+      } else {
+        stats.overflow.increment();
+      }
+    }
+    if (entry != null) {
+      entry.count.increment();
+    }
+    int logged = stats.logged.get();
+    if (logged <= LOGGED_PER_KIND && stats.logged.compareAndSet(logged, logged + 1)) {
+      log(kind, logged < LOGGED_PER_KIND ? describe(kind, key, detail) : suppressed(kind));
+    }
+  }
+
+  public long count(Kind kind) {
+    return kinds.get(kind).total.sum();
+  }
+
+  public long total() {
+    long total = 0;
+    for (KindStats stats : kinds.values()) {
+      total += stats.total.sum();
+    }
+    return total;
+  }
+
+  /** One line per kind that occurred: count, distinct keys and an example, or null if none. */
+  public String summary() {
+    if (total() == 0) {
+      return null;
+    }
+    StringBuilder table = new StringBuilder();
+    table.append(
+        String.format("%-24s %9s %9s  %s%n", "diagnostic", "count", "distinct", "example"));
+    kinds.forEach(
+        (kind, stats) -> {
+          long count = stats.total.sum();
+          if (count == 0) {
+            return;
+          }
+          String example =
+              stats.keys.entrySet().stream()
+                  .findFirst()
+                  .map(entry -> describe(kind, entry.getKey(), entry.getValue().example))
+                  .orElse("");
+          if (example.length() > SUMMARY_EXAMPLE_LENGTH) {
+            example = example.substring(0, SUMMARY_EXAMPLE_LENGTH - 3) + "...";
+          }
+          table.append(
+              String.format("%-24s %9d %9d  %s%n", kind.id, count, stats.keys.size(), example));
+        });
+    return table.toString().stripTrailing();
+  }
+
+  /** Writes every recorded key per kind, most frequent first, as JSON. */
+  public void write(Path file) throws IOException {
+    ObjectNode root = MAPPER.createObjectNode();
+    root.put("total", total());
+    ObjectNode kindNodes = root.putObject("kinds");
+    kinds.forEach(
+        (kind, stats) -> {
+          ObjectNode node = kindNodes.putObject(kind.id);
+          node.put("description", kind.description);
+          node.put("count", stats.total.sum());
+          node.put("distinct", stats.keys.size());
+          // Occurrences of keys first seen after MAX_KEYS_PER_KIND distinct keys were recorded.
+          node.put("untracked", stats.overflow.sum());
+          List<Map.Entry<String, Entry>> entries = new ArrayList<>(stats.keys.entrySet());
+          entries.sort(
+              Comparator.comparingLong((Map.Entry<String, Entry> e) -> -e.getValue().count.sum())
+                  .thenComparing(Map.Entry::getKey));
+          ArrayNode keyNodes = node.putArray("keys");
+          for (Map.Entry<String, Entry> entry : entries) {
+            keyNodes
+                .addObject()
+                .put("key", entry.getKey())
+                .put("count", entry.getValue().count.sum())
+                .put("example", entry.getValue().example);
+          }
+        });
+    MAPPER.writeValue(file.toFile(), root);
+  }
+
+  private static String describe(Kind kind, String key, String detail) {
+    return detail == null || detail.isBlank()
+        ? kind.description + ": " + key
+        : kind.description + ": " + key + ": " + detail.strip().replaceAll("\\s+", " ");
+  }
+
+  private static String suppressed(Kind kind) {
+    return "Further '" + kind.id + "' diagnostics are counted in the end-of-run summary";
+  }
+
+  private static void log(Kind kind, String message) {
+    if (kind.warning) {
+      LOGGER.warn(message);
+    } else {
+      LOGGER.debug(message);
+    }
+  }
+
+  private static final class KindStats {
+    private final LongAdder total = new LongAdder();
+    private final LongAdder overflow = new LongAdder();
+    private final AtomicInteger logged = new AtomicInteger();
+    private final Map<String, Entry> keys = new ConcurrentHashMap<>();
+  }
+
+  private static final class Entry {
+    private final LongAdder count = new LongAdder();
+    private final String example;
+
+    private Entry(String example) {
+      this.example = example;
+    }
+  }
+}
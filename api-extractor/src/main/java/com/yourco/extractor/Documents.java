@@ -0,0 +1,61 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Streaming access to JSON or YAML documents on disk, optionally gzip-compressed, chosen by file
+ * extension ({@code .json}, {@code .yaml}/{@code .yml}, plus {@code .gz}).
+ */
+public final class Documents {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+  private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+
+  private Documents() {}
+
+  /** Returns a parser whose {@code readValueAsTree} produces Jackson trees. */
+  public static JsonParser openParser(Path file) throws IOException {
+    return mapperFor(file)
+        .getFactory()
+        .createParser(
+            compressionOf(file)
+                .unwrap(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)));
+  }
+
+  public static JsonGenerator createGenerator(Path file) throws IOException {
+    ObjectMapper mapper = mapperFor(file);
+    JsonGenerator generator =
+        mapper
+            .getFactory()
+            .createGenerator(
+                compressionOf(file)
+                    .wrap(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)));
+    return mapper == JSON_MAPPER ? generator.useDefaultPrettyPrinter() : generator;
+  }
+
+  public static OutputCompression compressionOf(Path file) {
+    return fileName(file).endsWith(".gz") ? OutputCompression.GZIP : OutputCompression.NONE;
+  }
+
+  private static ObjectMapper mapperFor(Path file) {
+    String name = fileName(file);
+    if (name.endsWith(".gz")) {
+      name = name.substring(0, name.length() - 3);
+    }
+    return name.endsWith(".yaml") || name.endsWith(".yml") ? YAML_MAPPER : JSON_MAPPER;
+  }
+
+  private static String fileName(Path file) {
+    return file.getFileName().toString().toLowerCase(Locale.ROOT);
+  }
+}
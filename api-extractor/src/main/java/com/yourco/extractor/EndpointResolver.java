@@ -0,0 +1,79 @@
+package com.yourco.extractor;
+
+import com.yourco.extractor.ir.ResolvedEndpoint;
+import com.yourco.extractor.model.Endpoint;
+import com.yourco.extractor.model.Param;
+import com.yourco.extractor.model.Payload;
+import com.yourco.extractor.types.Types;
+import com.yourco.extractor.wrapper.WrapperMeta;
+import com.yourco.extractor.wrapper.WrapperTemplate;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/** Generates the schemas of one endpoint: parameters first, then request body and response. */
+public final class EndpointResolver {
+
+  private final ExtractorConfig config;
+  private final SchemaGenerator generator;
+
+  public EndpointResolver(ExtractorConfig config, SchemaGenerator generator) {
+    this.config = config;
+    this.generator = generator;
+  }
+
+  public ResolvedEndpoint resolve(Endpoint endpoint) {
+    int truncations = generator.getTruncationCount();
+    List<ResolvedEndpoint.Param> params = new ArrayList<>(endpoint.getParams().size());
+    for (Param param : endpoint.getParams()) {
+      params.add(
+          new ResolvedEndpoint.Param(
+              param.getName(),
+              param.getLocation(),
+              param.isRequired(),
+              param.getDefaultValue(),
+              generator.toSchema(param.getJavaType())));
+    }
+    ResolvedEndpoint.Payload requestBody = resolve(endpoint.getRequestBody());
+    ResolvedEndpoint.Payload response = resolve(endpoint.getResponse());
+    return new ResolvedEndpoint(
+        endpoint.getHttpMethod(),
+        endpoint.getFullPath(),
+        endpoint.getOperationId(),
+        endpoint.getController(),
+        endpoint.getSourceOrder(),
+        params,
+        requestBody,
+        response,
+        generator.getTruncationCount() > truncations);
+  }
+
+  private ResolvedEndpoint.Payload resolve(Payload payload) {
+    if (payload == null) {
+      return null;
+    }
+    return new ResolvedEndpoint.Payload(
+        payload.isRequired(), payload.getMediaTypes(), schemaForPayload(payload));
+  }
+
+  private Schema<?> schemaForPayload(Payload payload) {
+    Schema<?> inner = generator.toSchema(payload.getJavaType());
+    WrapperMeta meta = payload.getWrapperMeta();
+    if (meta == null) {
+      return inner;
+    }
+    Optional<WrapperTemplate> template = meta.getSchemaTemplate();
+    if (template.isEmpty()) {
+      return inner;
+    }
+    if (config.getOutput().isInlineWrappers()) {
+      return template.get().instantiate(inner);
+    }
+    String name =
+        Types.rawSchemaName(meta.getOriginalType())
+            + "_"
+            + Types.qualifiedSchemaName(payload.getJavaType());
+    return generator.registerComponent(name, () -> template.get().instantiate(inner));
+  }
+}
@@ -0,0 +1,135 @@
+package com.yourco.extractor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wall-clock budgets for a run, a single source file and a single top-level schema.
+ *
+ * <p>A watchdog thread flips the expiry flags when a deadline passes, so the hot paths only read a
+ * volatile field. Work is cancelled cooperatively: callers check {@link Scope#isExpired()} between
+ * resolution steps and stop, recording what was cut so the writer can mark the partial document.
+ */
+public final class ExtractionBudget implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtractionBudget.class);
+
+  private final long fileMillis;
+  private final long typeMillis;
+  private final ScheduledThreadPoolExecutor watchdog;
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+  private volatile boolean totalExpired;
+
+  private ExtractionBudget(long totalMillis, long fileMillis, long typeMillis) {
+    this.fileMillis = fileMillis;
+    this.typeMillis = typeMillis;
+    if (totalMillis > 0 || fileMillis > 0 || typeMillis > 0) {
+      this.watchdog =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread thread = new Thread(runnable, "extractor-watchdog");
+                thread.setDaemon(true);
+                return thread;
+              });
+      // Scopes almost always close before their deadline; drop their timers right away.
+      watchdog.setRemoveOnCancelPolicy(true);
+    } else {
+      this.watchdog = null;
+    }
+    if (totalMillis > 0) {
+      watchdog.schedule(
+          () -> {
+            totalExpired = true;
+            LOGGER.warn("Total extraction budget of {} ms exceeded", totalMillis);
+          },
+          totalMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public static ExtractionBudget from(ExtractorConfig.LimitsConfig limits) {
+    return new ExtractionBudget(
+        TimeUnit.SECONDS.toMillis(limits.getMaxTotalSeconds()),
+        limits.getMaxFileMillis(),
+        limits.getMaxTypeMillis());
+  }
+
+  public static ExtractionBudget unlimited() {
+    return new ExtractionBudget(0, 0, 0);
+  }
+
+  public boolean isTotalExpired() {
+    return totalExpired;
+  }
+
+  public Scope startFile(Object subject) {
+    return start("file", subject, fileMillis);
+  }
+
+  public Scope startType(Object subject) {
+    return start("type", subject, typeMillis);
+  }
+
+  public void record(String event) {
+    events.add(event);
+  }
+
+  public boolean isPartial() {
+    return !events.isEmpty();
+  }
+
+  public List<String> getEvents() {
+    synchronized (events) {
+      return List.copyOf(events);
+    }
+  }
+
+  private Scope start(String kind, Object subject, long millis) {
+    Scope scope = new Scope();
+    if (watchdog != null && millis > 0) {
+      // Only the name is kept, not the subject: pending timers must not pin resolved types.
+      String name = String.valueOf(subject);
+      scope.timer =
+          watchdog.schedule(
+              () -> {
+                scope.expired = true;
+                LOGGER.warn("Budget of {} ms exceeded for {} {}", millis, kind, name);
+              },
+              millis,
+              TimeUnit.MILLISECONDS);
+    }
+    return scope;
+  }
+
+  @Override
+  public void close() {
+    if (watchdog != null) {
+      watchdog.shutdownNow();
+    }
+  }
+
+  public final class Scope implements AutoCloseable {
+    private volatile boolean expired;
+    private ScheduledFuture<?> timer;
+
+    private Scope() {}
+
+    public boolean isExpired() {
+      return expired || totalExpired;
+    }
+
+    @Override
+    public void close() {
+      if (timer != null) {
+        timer.cancel(false);
+      }
+    }
+  }
+}
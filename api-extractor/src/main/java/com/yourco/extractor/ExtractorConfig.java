@@ -25,13 +25,32 @@ public final class ExtractorConfig {
   private List<String> excludes = new ArrayList<>();
   private List<WrapperConfig> wrappers = new ArrayList<>();
   private Map<String, String> mediaTypeNormalize = new LinkedHashMap<>();
+  private Map<String, ScalarConfig> scalars = new LinkedHashMap<>();
   private IgnoreConfig ignore = new IgnoreConfig();
   private LimitsConfig limits = new LimitsConfig();
   private NamingConfig naming = new NamingConfig();
   private PolymorphismConfig polymorphism = new PolymorphismConfig();
+  private OutputConfig output = new OutputConfig();
   private List<String> classpath = new ArrayList<>();
 
   public static ExtractorConfig load(Path path) throws IOException {
+    ExtractorConfig config = read(path);
+    config.validate();
+    return config;
+  }
+
+  /** Loads a configuration for rendering only, where the source directories need not exist. */
+  public static ExtractorConfig loadWithoutSources(Path path) throws IOException {
+    return read(path);
+  }
+
+  public static ExtractorConfig defaults() {
+    ExtractorConfig config = new ExtractorConfig();
+    config.applyDefaults();
+    return config;
+  }
+
+  private static ExtractorConfig read(Path path) throws IOException {
     Objects.requireNonNull(path, "config path");
     LoaderOptions loaderOptions = new LoaderOptions();
     Constructor constructor = new Constructor(ExtractorConfig.class, loaderOptions);
@@ -43,7 +62,6 @@ public final class ExtractorConfig {
     }
     config.baseDir = path.toAbsolutePath().getParent();
     config.applyDefaults();
-    config.validate();
     return config;
   }
 
@@ -92,6 +110,10 @@ public final class ExtractorConfig {
     return wrappers;
   }
 
+  public Map<String, ScalarConfig> getScalars() {
+    return scalars;
+  }
+
   public IgnoreConfig getIgnore() {
     return ignore;
   }
@@ -108,6 +130,10 @@ public final class ExtractorConfig {
     return polymorphism;
   }
 
+  public OutputConfig getOutput() {
+    return output;
+  }
+
   public String getDefaultTitle() {
     return defaultTitle;
   }
@@ -189,6 +215,10 @@ public final class ExtractorConfig {
     this.mediaTypeNormalize = Optional.ofNullable(mediaTypeNormalize).map(LinkedHashMap::new).orElseGet(LinkedHashMap::new);
   }
 
+  public void setScalars(Map<String, ScalarConfig> scalars) {
+    this.scalars = Optional.ofNullable(scalars).map(LinkedHashMap::new).orElseGet(LinkedHashMap::new);
+  }
+
   public void setIgnore(IgnoreConfig ignore) {
     this.ignore = Optional.ofNullable(ignore).orElseGet(IgnoreConfig::new);
   }
@@ -205,6 +235,10 @@ public final class ExtractorConfig {
     this.polymorphism = Optional.ofNullable(polymorphism).orElseGet(PolymorphismConfig::new);
   }
 
+  public void setOutput(OutputConfig output) {
+    this.output = Optional.ofNullable(output).orElseGet(OutputConfig::new);
+  }
+
   public void setClasspath(List<String> classpath) {
     this.classpath = Optional.ofNullable(classpath).map(ArrayList::new).orElseGet(ArrayList::new);
   }
@@ -214,6 +248,7 @@ public final class ExtractorConfig {
     private int payloadArgIndex;
     private Map<String, Object> metadata;
     private Map<String, Object> asSchema;
+    private boolean matchSubtypes;
 
     public String getType() {
       return type;
@@ -246,6 +281,35 @@ public final class ExtractorConfig {
     public void setAsSchema(Map<String, Object> asSchema) {
       this.asSchema = asSchema;
     }
+
+    public boolean isMatchSubtypes() {
+      return matchSubtypes;
+    }
+
+    public void setMatchSubtypes(boolean matchSubtypes) {
+      this.matchSubtypes = matchSubtypes;
+    }
+  }
+
+  public static final class ScalarConfig {
+    private String type = "string";
+    private String format;
+
+    public String getType() {
+      return type;
+    }
+
+    public void setType(String type) {
+      this.type = type;
+    }
+
+    public String getFormat() {
+      return format;
+    }
+
+    public void setFormat(String format) {
+      this.format = format;
+    }
   }
 
   public static final class IgnoreConfig {
@@ -272,6 +336,12 @@ public final class ExtractorConfig {
   public static final class LimitsConfig {
     private int maxDepth = 30;
     private int maxProperties = 2000;
+    private int maxInstantiationsPerRawType;
+    private String instantiationOverflow = "erased";
+    private int maxTotalSeconds;
+    private int maxFileMillis;
+    private int maxTypeMillis;
+    private String memoryBudget;
 
     public int getMaxDepth() {
       return maxDepth;
@@ -288,6 +358,54 @@ public final class ExtractorConfig {
     public void setMaxProperties(int maxProperties) {
       this.maxProperties = maxProperties;
     }
+
+    public int getMaxInstantiationsPerRawType() {
+      return maxInstantiationsPerRawType;
+    }
+
+    public void setMaxInstantiationsPerRawType(int maxInstantiationsPerRawType) {
+      this.maxInstantiationsPerRawType = maxInstantiationsPerRawType;
+    }
+
+    public String getInstantiationOverflow() {
+      return instantiationOverflow;
+    }
+
+    public void setInstantiationOverflow(String instantiationOverflow) {
+      this.instantiationOverflow = instantiationOverflow;
+    }
+
+    public int getMaxTotalSeconds() {
+      return maxTotalSeconds;
+    }
+
+    public void setMaxTotalSeconds(int maxTotalSeconds) {
+      this.maxTotalSeconds = maxTotalSeconds;
+    }
+
+    public int getMaxFileMillis() {
+      return maxFileMillis;
+    }
+
+    public void setMaxFileMillis(int maxFileMillis) {
+      this.maxFileMillis = maxFileMillis;
+    }
+
+    public int getMaxTypeMillis() {
+      return maxTypeMillis;
+    }
+
+    public void setMaxTypeMillis(int maxTypeMillis) {
+      this.maxTypeMillis = maxTypeMillis;
+    }
+
+    public String getMemoryBudget() {
+      return memoryBudget;
+    }
+
+    public void setMemoryBudget(String memoryBudget) {
+      this.memoryBudget = memoryBudget;
+    }
   }
 
   public static final class NamingConfig {
@@ -331,4 +449,97 @@ public final class ExtractorConfig {
       this.discriminatorProperty = discriminatorProperty;
     }
   }
+
+  public static final class OutputConfig {
+    private boolean dedupeComponents;
+    private boolean pruneUnreachable = true;
+    private boolean streaming;
+    private boolean inlineWrappers;
+    private String format = "json";
+    private String compress = "none";
+    private String shardBy = "none";
+    private boolean canonical = true;
+    private boolean skipUnchanged = true;
+    private int assemblyThreads = 1;
+
+    public boolean isDedupeComponents() {
+      return dedupeComponents;
+    }
+
+    public void setDedupeComponents(boolean dedupeComponents) {
+      this.dedupeComponents = dedupeComponents;
+    }
+
+    public boolean isPruneUnreachable() {
+      return pruneUnreachable;
+    }
+
+    public void setPruneUnreachable(boolean pruneUnreachable) {
+      this.pruneUnreachable = pruneUnreachable;
+    }
+
+    public boolean isStreaming() {
+      return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+      this.streaming = streaming;
+    }
+
+    public boolean isInlineWrappers() {
+      return inlineWrappers;
+    }
+
+    public void setInlineWrappers(boolean inlineWrappers) {
+      this.inlineWrappers = inlineWrappers;
+    }
+
+    public String getFormat() {
+      return format;
+    }
+
+    public void setFormat(String format) {
+      this.format = format;
+    }
+
+    public String getCompress() {
+      return compress;
+    }
+
+    public void setCompress(String compress) {
+      this.compress = compress;
+    }
+
+    public String getShardBy() {
+      return shardBy;
+    }
+
+    public void setShardBy(String shardBy) {
+      this.shardBy = shardBy;
+    }
+
+    public boolean isCanonical() {
+      return canonical;
+    }
+
+    public void setCanonical(boolean canonical) {
+      this.canonical = canonical;
+    }
+
+    public boolean isSkipUnchanged() {
+      return skipUnchanged;
+    }
+
+    public void setSkipUnchanged(boolean skipUnchanged) {
+      this.skipUnchanged = skipUnchanged;
+    }
+
+    public int getAssemblyThreads() {
+      return assemblyThreads;
+    }
+
+    public void setAssemblyThreads(int assemblyThreads) {
+      this.assemblyThreads = assemblyThreads;
+    }
+  }
 }
@@ -0,0 +1,117 @@
+package com.yourco.extractor;
+
+import com.github.javaparser.resolution.types.ResolvedType;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events emitted by the extractor, recorded with {@code --jfr} or any
+ * externally started recording.
+ *
+ * <p>Events are cheap when no recording is running; fields that need work to compute are only
+ * filled in after {@link Event#shouldCommit()}.
+ */
+public final class ExtractorEvents {
+
+  private static final String CATEGORY = "API Extractor";
+
+  private ExtractorEvents() {}
+
+  @Name("com.yourco.extractor.FileParsed")
+  @Label("File Parsed")
+  @Description("One source file parsed and scanned for endpoints")
+  @Category(CATEGORY)
+  public static final class FileParsed extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Parsed")
+    public boolean parsed;
+
+    @Label("Endpoints")
+    public int endpoints;
+  }
+
+  @Name("com.yourco.extractor.TypeResolved")
+  @Label("Type Resolved")
+  @Description("A type resolved by the symbol solver or served from the schema cache")
+  @Category(CATEGORY)
+  public static final class TypeResolved extends Event {
+    @Label("Type")
+    public String type;
+
+    @Label("Solver")
+    @Description("Origin of the declaration: source, jar, reflection, builtin or unresolved")
+    public String solver;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+  }
+
+  @Name("com.yourco.extractor.ComponentBuilt")
+  @Label("Component Built")
+  @Description("A component schema built, including the components it references")
+  @Category(CATEGORY)
+  public static final class ComponentBuilt extends Event {
+    @Label("Name")
+    public String name;
+
+    @Label("Properties")
+    public int properties;
+  }
+
+  @Name("com.yourco.extractor.OutputWritten")
+  @Label("Output Written")
+  @Description("A document, shard or components file rendered to disk")
+  @Category(CATEGORY)
+  public static final class OutputWritten extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Changed")
+    public boolean changed;
+  }
+
+  /** Which kind of type solver supplied the declaration behind {@code type}. */
+  static String solverOf(ResolvedType type) {
+    if (type == null) {
+      return "unresolved";
+    }
+    if (type.isArray()) {
+      return solverOf(type.asArrayType().getComponentType());
+    }
+    if (!type.isReferenceType()) {
+      return "builtin";
+    }
+    String declaration =
+        type.asReferenceType()
+            .getTypeDeclaration()
+            .map(value -> value.getClass().getSimpleName())
+            .orElse("");
+    if (declaration.startsWith("JavaParser")) {
+      return "source";
+    }
+    if (declaration.startsWith("Javassist")) {
+      return "jar";
+    }
+    if (declaration.startsWith("Reflection")) {
+      return "reflection";
+    }
+    return declaration.isEmpty() ? "unresolved" : declaration;
+  }
+}
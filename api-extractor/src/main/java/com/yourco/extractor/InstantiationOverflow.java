@@ -0,0 +1,30 @@
+package com.yourco.extractor;
+
+import java.util.Locale;
+
+/** How generic instantiations beyond {@code limits.maxInstantiationsPerRawType} are rendered. */
+public enum InstantiationOverflow {
+  ERASED("erased"),
+  ENVELOPE("envelope");
+
+  private final String id;
+
+  InstantiationOverflow(String id) {
+    this.id = id;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public static InstantiationOverflow parse(String value) {
+    String normalized = value == null ? ERASED.id : value.trim().toLowerCase(Locale.ROOT);
+    for (InstantiationOverflow overflow : values()) {
+      if (overflow.id.equals(normalized)) {
+        return overflow;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported instantiation overflow '" + value + "' (expected erased or envelope)");
+  }
+}
@@ -1,68 +1,399 @@
 package com.yourco.extractor;
 
+import com.yourco.extractor.diff.DiffCommand;
+import com.yourco.extractor.ir.IrCodec;
+import com.yourco.extractor.ir.MergeShardsCommand;
+import com.yourco.extractor.ir.RenderCommand;
+import com.yourco.extractor.ir.ResolvedEndpoint;
+import com.yourco.extractor.ir.ScanResult;
+import com.yourco.extractor.merge.MergeCommand;
 import com.yourco.extractor.model.Endpoint;
+import com.yourco.extractor.perf.BenchCommand;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
 
-@Command(name = "api-extractor", mixinStandardHelpOptions = true, version = "0.1.0")
+@Command(
+    name = "api-extractor",
+    mixinStandardHelpOptions = true,
+    version = "0.1.0",
+    subcommands = {
+      DiffCommand.class,
+      MergeCommand.class,
+      BenchCommand.class,
+      RenderCommand.class,
+      MergeShardsCommand.class
+    })
 public class Main implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
-  @Option(names = "--config", required = true, description = "Path to extractor.yml configuration")
+  @Spec CommandSpec spec;
+
+  @Option(names = "--config", description = "Path to extractor.yml configuration")
   Path configPath;
 
-  @Option(names = "--out", required = true, description = "Output OpenAPI file path")
+  @Option(names = "--out", description = "Output OpenAPI file path")
   Path outPath;
 
+  @Option(
+      names = "--ir-out",
+      description = "Write the scan result as a binary IR file for the render subcommand")
+  Path irOut;
+
+  @Option(
+      names = "--shard",
+      description =
+          "Scan only slice i of N of the source files (1-based, e.g. 2/4); needs --ir-out,"
+              + " combine the slices with merge-shards")
+  String shard;
+
   @Option(names = "--title", description = "OpenAPI title")
   String title;
 
   @Option(names = "--version", description = "OpenAPI version")
   String version;
 
+  @Option(names = "--format", description = "Output format (json, json-compact, yaml)")
+  String format;
+
+  @Option(names = "--compress", description = "Output compression (none, gzip)")
+  String compress;
+
+  @Option(names = "--shard-by", description = "Split the output by controller or path (none)")
+  String shardBy;
+
+  @Option(
+      names = "--memory-budget",
+      description = "Spill component schemas to disk beyond this estimated size, e.g. 512m")
+  String memoryBudget;
+
+  @Option(names = "--metrics-out", description = "Write phase timings and counters as JSON")
+  Path metricsOut;
+
+  @Option(names = "--trace-out", description = "Write a Chrome trace-event timeline of the run")
+  Path traceOut;
+
+  @Option(names = "--jfr", description = "Record a JDK Flight Recorder file of the run")
+  Path jfrOut;
+
+  @Option(
+      names = "--diagnostics-out",
+      description = "Write every parse, resolution and limit diagnostic as JSON")
+  Path diagnosticsOut;
+
   @Option(names = "--log-level", description = "Log level (ERROR, WARN, INFO, DEBUG)")
   String logLevel = "INFO";
 
   @Override
   public void run() {
+    if (configPath == null || (outPath == null && irOut == null)) {
+      throw new CommandLine.ParameterException(
+          spec.commandLine(), "Missing required options: --config and --out or --ir-out");
+    }
+    SourceShard sourceShard;
+    try {
+      sourceShard = shard != null ? SourceShard.parse(shard) : SourceShard.ALL;
+    } catch (IllegalArgumentException ex) {
+      throw new CommandLine.ParameterException(spec.commandLine(), ex.getMessage());
+    }
+    if (!sourceShard.isAll() && (irOut == null || outPath != null)) {
+      throw new CommandLine.ParameterException(
+          spec.commandLine(), "--shard writes a partial scan: use --ir-out without --out");
+    }
+    Diagnostics diagnostics = new Diagnostics();
+    RunMetrics metrics = new RunMetrics();
+    TraceRecorder trace = traceOut != null ? new TraceRecorder() : TraceRecorder.disabled();
+    RunContext context = RunContext.of(metrics, trace, diagnostics);
+    Recording recording = null;
     try {
       if (logLevel != null) {
         System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", logLevel.toLowerCase());
       }
+      if (jfrOut != null) {
+        recording = startRecording(jfrOut);
+      }
       if (outPath != null) {
         Path parent = outPath.toAbsolutePath().getParent();
         if (parent != null) {
           Files.createDirectories(parent);
         }
       }
-      ExtractorConfig config = ExtractorConfig.load(configPath);
+      ExtractorConfig config = context.call("config", () -> ExtractorConfig.load(configPath));
       String docTitle = title != null ? title : config.getDefaultTitle();
       String docVersion = version != null ? version : config.getDefaultVersion();
+      if (format != null) {
+        config.getOutput().setFormat(format);
+      }
+      if (compress != null) {
+        config.getOutput().setCompress(compress);
+      }
+      if (shardBy != null) {
+        config.getOutput().setShardBy(shardBy);
+      }
+      if (memoryBudget != null) {
+        config.getLimits().setMemoryBudget(memoryBudget);
+      }
+      OutputFormat.parse(config.getOutput().getFormat());
+      OutputCompression.parse(config.getOutput().getCompress());
+
+      if (irOut != null) {
+        ScanResult scan = scan(config, sourceShard, context);
+        context.run("ir", () -> IrCodec.write(scan, irOut));
+        LOGGER.info("Scan IR written to {}", irOut);
+        if (outPath != null) {
+          render(config, docTitle, docVersion, scan, outPath, context);
+        }
+      } else {
+        extract(config, docTitle, docVersion, outPath, context);
+      }
+      String summary = diagnostics.summary();
+      if (summary != null) {
+        LOGGER.info("{} diagnostics during extraction:\n{}", diagnostics.total(), summary);
+      }
+      if (diagnosticsOut != null) {
+        diagnostics.write(diagnosticsOut);
+        LOGGER.info("Diagnostics written to {}", diagnosticsOut);
+      }
+      if (metricsOut != null) {
+        metrics.write(metricsOut);
+        LOGGER.info("Run metrics written to {}", metricsOut);
+      }
+      if (traceOut != null) {
+        trace.write(traceOut);
+        LOGGER.info("Trace written to {}", traceOut);
+      }
+    } catch (Exception ex) {
+      throw new CommandLine.ExecutionException(new CommandLine(this), "Extraction failed", ex);
+    } finally {
+      if (recording != null) {
+        recording.stop();
+        recording.close();
+        LOGGER.info("Flight recording written to {}", jfrOut);
+      }
+    }
+  }
 
-      ProjectClasspath classpath = ProjectClasspath.from(config);
-      ControllerScanner scanner = new ControllerScanner(classpath, config);
-      List<Endpoint> endpoints = scanner.scan();
+  /**
+   * Runs the pipeline from classpath setup to the written document. Phases are timed on the
+   * context's metrics; the {@code bench} subcommand calls this repeatedly in one JVM.
+   */
+  public static void extract(
+      ExtractorConfig config, String title, String version, Path outPath, RunContext run)
+      throws IOException {
+    boolean sharded = ShardMode.parse(config.getOutput().getShardBy()) != ShardMode.NONE;
+    try (ExtractionBudget budget = ExtractionBudget.from(config.getLimits());
+        ComponentStore spill = componentStore(config, sharded, run.metrics())) {
+      RunContext context = run.withBudget(budget);
+      ProjectClasspath classpath =
+          context.call("classpath", () -> ProjectClasspath.from(config, context.metrics()));
+      ControllerScanner scanner = new ControllerScanner(classpath, config, context);
+      List<Endpoint> endpoints = context.call("scan", scanner::scan);
       LOGGER.info("Discovered {} endpoints", endpoints.size());
 
-      SchemaGenerator schemaGenerator = new SchemaGenerator(classpath, config);
-      OpenApiBuilder builder = new OpenApiBuilder(docTitle, docVersion, config);
-      for (Endpoint endpoint : endpoints) {
-        builder.addEndpoint(endpoint, schemaGenerator);
+      SchemaGenerator schemaGenerator = new SchemaGenerator(classpath, config, context, spill);
+      OpenApiBuilder builder = new OpenApiBuilder(title, version, config, context);
+      if (spill != null || isStreaming(config, sharded)) {
+        // Streaming assembles each path while it is written, so both count as "write".
+        context.run("write", () -> builder.writeStreaming(outPath, endpoints, schemaGenerator));
+      } else {
+        context.run("assemble", () -> builder.addEndpoints(endpoints, schemaGenerator));
+        context.run(
+            "write",
+            () -> {
+              if (sharded) {
+                builder.writeSharded(outPath, schemaGenerator);
+              } else {
+                builder.write(outPath, schemaGenerator);
+              }
+            });
+      }
+      logCollapsed(schemaGenerator);
+      if (budget.isPartial()) {
+        LOGGER.warn(
+            "Extraction budget exceeded; wrote partial specification ({} events)",
+            budget.getEvents().size());
       }
-      builder.write(outPath, schemaGenerator);
       LOGGER.info("OpenAPI specification written to {}", outPath);
-    } catch (Exception ex) {
-      throw new CommandLine.ExecutionException(new CommandLine(this), "Extraction failed", ex);
     }
   }
 
+  /**
+   * Runs the pipeline up to resolved schemas, without building the document. Schema options
+   * ({@code limits}, {@code output.inlineWrappers}, scalar mappings) and ignored paths take effect
+   * here; everything else in {@code output} is left to {@link #render}.
+   */
+  public static ScanResult scan(ExtractorConfig config, RunContext run) throws IOException {
+    return scan(config, SourceShard.ALL, run);
+  }
+
+  /** Scans the endpoints declared in {@code shard}'s files; see {@link SourceShard}. */
+  public static ScanResult scan(ExtractorConfig config, SourceShard shard, RunContext run)
+      throws IOException {
+    // Each shard would keep its own first instantiations, so the merged document could hold
+    // more of them than a single-process run.
+    if (!shard.isAll() && config.getLimits().getMaxInstantiationsPerRawType() > 0) {
+      throw new IllegalArgumentException(
+          "limits.maxInstantiationsPerRawType needs the whole project in one scan; it cannot be"
+              + " combined with --shard");
+    }
+    String memoryBudget = config.getLimits().getMemoryBudget();
+    if (memoryBudget != null && !memoryBudget.isBlank()) {
+      LOGGER.info(
+          "limits.memoryBudget needs a single streamed document; ignored when scanning to an IR"
+              + " file");
+    }
+    try (ExtractionBudget budget = ExtractionBudget.from(config.getLimits())) {
+      RunContext context = run.withBudget(budget);
+      ProjectClasspath classpath =
+          context.call("classpath", () -> ProjectClasspath.from(config, context.metrics()));
+      ControllerScanner scanner = new ControllerScanner(classpath, config, context);
+      List<Endpoint> endpoints = context.call("scan", () -> scanner.scan(shard));
+      if (shard.isAll()) {
+        LOGGER.info("Discovered {} endpoints", endpoints.size());
+      } else {
+        LOGGER.info("Discovered {} endpoints in shard {}", endpoints.size(), shard);
+      }
+
+      SchemaGenerator schemaGenerator = new SchemaGenerator(classpath, config, context, null);
+      EndpointResolver resolver = new EndpointResolver(config, schemaGenerator);
+      List<ResolvedEndpoint> resolved = new ArrayList<>(endpoints.size());
+      context.run(
+          "resolve",
+          () -> {
+            for (Endpoint endpoint : endpoints) {
+              if (!config.isPathIgnored(endpoint.getFullPath())) {
+                resolved.add(resolver.resolve(endpoint));
+              }
+            }
+          });
+      logCollapsed(schemaGenerator);
+      if (budget.isPartial()) {
+        LOGGER.warn(
+            "Extraction budget exceeded; scan result is partial ({} events)",
+            budget.getEvents().size());
+      }
+      return new ScanResult(
+          resolved,
+          new LinkedHashMap<>(schemaGenerator.getComponents()),
+          budget.getEvents(),
+          shard);
+    }
+  }
+
+  /** Builds and writes the document for a scan result, possibly one read back from an IR file. */
+  public static void render(
+      ExtractorConfig config,
+      String title,
+      String version,
+      ScanResult scan,
+      Path outPath,
+      RunContext run)
+      throws IOException {
+    if (!scan.shard().isAll()) {
+      throw new IllegalArgumentException(
+          "Scan result covers shard " + scan.shard() + " only; combine shards with merge-shards");
+    }
+    boolean sharded = ShardMode.parse(config.getOutput().getShardBy()) != ShardMode.NONE;
+    if (config.getOutput().isStreaming()) {
+      LOGGER.info(
+          "output.streaming resolves schemas while writing; ignored when rendering a scan result");
+    }
+    try (ExtractionBudget budget = ExtractionBudget.unlimited()) {
+      scan.partialEvents().forEach(budget::record);
+      RunContext context = run.withBudget(budget);
+      OpenApiBuilder builder = new OpenApiBuilder(title, version, config, context);
+      context.run("assemble", () -> builder.addResolved(scan.endpoints()));
+      context.run(
+          "write",
+          () -> {
+            if (sharded) {
+              builder.writeSharded(outPath, scan.components());
+            } else {
+              builder.write(outPath, scan.components());
+            }
+          });
+      LOGGER.info("OpenAPI specification written to {}", outPath);
+    }
+  }
+
+  private static void logCollapsed(SchemaGenerator schemaGenerator) {
+    schemaGenerator
+        .getCollapsedInstantiations()
+        .forEach(
+            (rawType, count) ->
+                LOGGER.warn(
+                    "Collapsed {} instantiations of {} beyond limits.maxInstantiationsPerRawType",
+                    count,
+                    rawType));
+  }
+
+  /** JDK "profile" settings plus the extractor's own events, dumped to {@code file} on stop. */
+  private static Recording startRecording(Path file) throws IOException, ParseException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Recording recording = new Recording(Configuration.getConfiguration("profile"));
+    recording.setName("api-extractor");
+    recording.setToDisk(true);
+    recording.setDestination(file);
+    recording.enable(ExtractorEvents.FileParsed.class);
+    recording.enable(ExtractorEvents.TypeResolved.class);
+    recording.enable(ExtractorEvents.ComponentBuilt.class);
+    recording.enable(ExtractorEvents.OutputWritten.class);
+    recording.start();
+    return recording;
+  }
+
+  /**
+   * A memory budget implies streaming, so only components need to be held, and is ignored where
+   * the whole document must be in memory anyway.
+   */
+  private static ComponentStore componentStore(
+      ExtractorConfig config, boolean sharded, RunMetrics metrics) {
+    String memoryBudget = config.getLimits().getMemoryBudget();
+    if (memoryBudget == null || memoryBudget.isBlank()) {
+      return null;
+    }
+    long bytes = ComponentStore.parseBudget(memoryBudget);
+    if (sharded || config.getOutput().isDedupeComponents()) {
+      LOGGER.info(
+          "limits.memoryBudget needs a single streamed document; ignored with output.shardBy"
+              + " or output.dedupeComponents");
+      return null;
+    }
+    return new ComponentStore(bytes, metrics);
+  }
+
+  private static boolean isStreaming(ExtractorConfig config, boolean sharded) {
+    if (!config.getOutput().isStreaming()) {
+      return false;
+    }
+    if (sharded) {
+      LOGGER.info("output.streaming writes a single document; ignored with output.shardBy");
+      return false;
+    }
+    if (config.getOutput().isDedupeComponents()) {
+      LOGGER.info("output.dedupeComponents needs the whole document; streaming disabled");
+      return false;
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     int code = new CommandLine(new Main()).execute(args);
     System.exit(code);
@@ -1,13 +1,22 @@
 package com.yourco.extractor;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.yourco.extractor.ir.ResolvedEndpoint;
 import com.yourco.extractor.model.Endpoint;
-import com.yourco.extractor.model.Param;
 import com.yourco.extractor.model.ParameterLocation;
-import com.yourco.extractor.model.Payload;
-import com.yourco.extractor.wrapper.WrapperMeta;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.PathItem;
@@ -21,90 +30,308 @@ import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import io.swagger.v3.oas.models.responses.ApiResponses;
 import io.swagger.v3.oas.models.Components;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public final class OpenApiBuilder {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OpenApiBuilder.class);
-  private static final ObjectMapper SCHEMA_MAPPER = new ObjectMapper();
-  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final ObjectMapper JSON_MAPPER = documentMapper(JsonMapper.builder());
+  private static final ObjectMapper YAML_MAPPER =
+      documentMapper(
+          YAMLMapper.builder(
+              new YAMLFactory()
+                  .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+                  .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)));
+  private static final List<String> LOCATION_ORDER = List.of("path", "query", "header", "cookie");
+  private static final Comparator<Parameter> PARAMETER_ORDER =
+      Comparator.comparingInt((Parameter parameter) -> LOCATION_ORDER.indexOf(parameter.getIn()))
+          .thenComparing(Parameter::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
 
   private final OpenAPI openApi;
   private final ExtractorConfig config;
+  private final RunContext context;
+  private final ExtractionBudget budget;
+  private final RunMetrics metrics;
+  private final Map<String, String> controllerOfPath = new HashMap<>();
 
-  public OpenApiBuilder(String title, String version, ExtractorConfig config) {
+  public OpenApiBuilder(
+      String title, String version, ExtractorConfig config, RunContext context) {
     this.config = config;
+    this.context = context;
+    this.budget = context.budget();
+    this.metrics = context.metrics();
     this.openApi = new OpenAPI();
     this.openApi.setInfo(new Info().title(title).version(version));
     this.openApi.setPaths(new Paths());
   }
 
   public void addEndpoint(Endpoint endpoint, SchemaGenerator generator) {
+    PathItem.HttpMethod method = resolveMethod(endpoint.getHttpMethod(), endpoint.getFullPath());
+    if (method == null) {
+      return;
+    }
+    addOperation(
+        endpoint.getFullPath(),
+        method,
+        createOperation(endpoint, generator),
+        endpoint.getController());
+  }
+
+
+  private void addOperation(
+      String path, PathItem.HttpMethod method, Operation operation, String controller) {
     Paths paths = openApi.getPaths();
     if (paths == null) {
       paths = new Paths();
       openApi.setPaths(paths);
     }
-    String path = endpoint.getFullPath();
-    PathItem pathItem = paths.computeIfAbsent(path, p -> new PathItem());
+    if (controller != null) {
+      controllerOfPath.putIfAbsent(path, controller);
+    }
+    paths.computeIfAbsent(path, p -> new PathItem()).operation(method, operation);
+  }
+
+  /**
+   * Adds all endpoints. Their schemas are resolved first, one endpoint at a time on the calling
+   * thread, as JavaParser symbol resolution is not thread-safe; the operations are then built by
+   * {@link #addResolved}.
+   */
+  public void addEndpoints(List<Endpoint> endpoints, SchemaGenerator generator)
+      throws IOException {
+    EndpointResolver resolver = new EndpointResolver(config, generator);
+    List<PendingOperation> pending = new ArrayList<>(endpoints.size());
+    for (Endpoint endpoint : endpoints) {
+      PathItem.HttpMethod method = resolveMethod(endpoint.getHttpMethod(), endpoint.getFullPath());
+      if (method != null) {
+        pending.add(new PendingOperation(method, resolver.resolve(endpoint)));
+      }
+    }
+    assemble(pending);
+  }
+
+  /** Adds endpoints resolved by an earlier scan, for example ones read from an IR file. */
+  public void addResolved(List<ResolvedEndpoint> endpoints) throws IOException {
+    List<PendingOperation> pending = new ArrayList<>(endpoints.size());
+    for (ResolvedEndpoint endpoint : endpoints) {
+      PathItem.HttpMethod method = resolveMethod(endpoint.httpMethod(), endpoint.fullPath());
+      if (method != null) {
+        pending.add(new PendingOperation(method, endpoint));
+      }
+    }
+    assemble(pending);
+  }
+
+  /**
+   * Builds the operations on {@code output.assemblyThreads} worker threads. A resolved endpoint
+   * holds no parser state, so this part runs in parallel.
+   *
+   * <p>Operations are merged per path with {@link ConcurrentHashMap#compute}, which locks only the
+   * bin of that path. Each operation carries its endpoint index so that one ordering pass
+   * afterwards reproduces what sequential {@link #addOperation} calls would have built: paths in
+   * discovery order, the last endpoint winning a duplicated method and the first controller
+   * owning the path. Components were all registered during resolution, so their order is not
+   * affected.
+   */
+  private void assemble(List<PendingOperation> pending) throws IOException {
+    int threads = config.getOutput().getAssemblyThreads();
+    if (threads <= 0) {
+      threads = Runtime.getRuntime().availableProcessors();
+    }
+    if (threads == 1 || pending.size() < 2) {
+      for (PendingOperation operation : pending) {
+        ResolvedEndpoint endpoint = operation.endpoint();
+        addOperation(
+            endpoint.fullPath(),
+            operation.method(),
+            buildOperation(endpoint),
+            endpoint.controller());
+      }
+      return;
+    }
+    ConcurrentHashMap<String, PathAssembly> assembled = new ConcurrentHashMap<>();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "extractor-assembly");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      List<Callable<Void>> tasks = new ArrayList<>();
+      int chunk = Math.max(1, (pending.size() + threads * 4 - 1) / (threads * 4));
+      for (int start = 0; start < pending.size(); start += chunk) {
+        int from = start;
+        int to = Math.min(pending.size(), start + chunk);
+        tasks.add(
+            () -> {
+              for (int index = from; index < to; index++) {
+                assemble(index, pending.get(index), assembled);
+              }
+              return null;
+            });
+      }
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while assembling operations", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IOException("Failed to assemble operations", ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    List<Map.Entry<String, PathAssembly>> ordered = new ArrayList<>(assembled.entrySet());
+    ordered.sort(Comparator.comparingInt(entry -> entry.getValue().firstIndex));
+    for (Map.Entry<String, PathAssembly> entry : ordered) {
+      PathAssembly assembly = entry.getValue();
+      assembly.operations.forEach(
+          (method, indexed) ->
+              addOperation(entry.getKey(), method, indexed.operation(), assembly.controller));
+    }
+  }
+
+  private void assemble(
+      int index, PendingOperation pending, ConcurrentHashMap<String, PathAssembly> assembled) {
+    ResolvedEndpoint endpoint = pending.endpoint();
+    IndexedOperation operation = new IndexedOperation(index, buildOperation(endpoint));
+    assembled.compute(
+        endpoint.fullPath(),
+        (path, assembly) -> {
+          PathAssembly target = assembly != null ? assembly : new PathAssembly();
+          target.add(pending.method(), operation, endpoint.controller());
+          return target;
+        });
+  }
+
+  private record PendingOperation(PathItem.HttpMethod method, ResolvedEndpoint endpoint) {}
+
+  private record IndexedOperation(int index, Operation operation) {}
+
+  /** Operations of one path; only mutated inside {@code compute} for that path. */
+  private static final class PathAssembly {
+    private final Map<PathItem.HttpMethod, IndexedOperation> operations =
+        new EnumMap<>(PathItem.HttpMethod.class);
+    private int firstIndex = Integer.MAX_VALUE;
+    private int controllerIndex = Integer.MAX_VALUE;
+    private String controller;
+
+    void add(PathItem.HttpMethod method, IndexedOperation operation, String endpointController) {
+      operations.merge(
+          method, operation, (current, added) -> added.index() > current.index() ? added : current);
+      firstIndex = Math.min(firstIndex, operation.index());
+      if (endpointController != null && operation.index() < controllerIndex) {
+        controllerIndex = operation.index();
+        controller = endpointController;
+      }
+    }
+  }
+
+  private PathItem.HttpMethod resolveMethod(String httpMethod, String path) {
+    if (config.isPathIgnored(path)) {
+      return null;
+    }
+    try {
+      return PathItem.HttpMethod.valueOf(httpMethod.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      LOGGER.warn("Unsupported HTTP method {} for path {}", httpMethod, path);
+      return null;
+    }
+  }
+
+  private Operation createOperation(Endpoint endpoint, SchemaGenerator generator) {
+    String name = endpoint.getHttpMethod() + " " + endpoint.getFullPath();
+    return context
+        .trace()
+        .call(
+            "operation",
+            name,
+            () -> toOperation(new EndpointResolver(config, generator).resolve(endpoint)));
+  }
+
+  private Operation buildOperation(ResolvedEndpoint endpoint) {
+    String name = endpoint.httpMethod() + " " + endpoint.fullPath();
+    return context.trace().call("operation", name, () -> toOperation(endpoint));
+  }
+
+  private Operation toOperation(ResolvedEndpoint endpoint) {
     Operation operation = new Operation();
-    operation.setOperationId(endpoint.getOperationId());
+    operation.setOperationId(endpoint.operationId());
 
-    for (Param param : endpoint.getParams()) {
+    for (ResolvedEndpoint.Param param : endpoint.params()) {
       Parameter parameter = new Parameter();
-      parameter.setName(param.getName());
-      parameter.setRequired(param.isRequired());
-      parameter.setIn(locationToString(param.getLocation()));
-      Schema<?> schema = generator.toSchema(param.getJavaType());
-      parameter.setSchema(schema);
-      if (param.getDefaultValue() != null) {
-        parameter.setExample(param.getDefaultValue());
+      parameter.setName(param.name());
+      parameter.setRequired(param.required());
+      parameter.setIn(locationToString(param.location()));
+      parameter.setSchema(param.schema());
+      if (param.defaultValue() != null) {
+        parameter.setExample(param.defaultValue());
       }
       operation.addParametersItem(parameter);
     }
+    if (isCanonical() && operation.getParameters() != null) {
+      operation.getParameters().sort(PARAMETER_ORDER);
+    }
 
-    if (endpoint.getRequestBody() != null) {
-      operation.setRequestBody(createRequestBody(endpoint.getRequestBody(), generator));
+    if (endpoint.requestBody() != null) {
+      operation.setRequestBody(createRequestBody(endpoint.requestBody()));
     }
 
     ApiResponses responses = new ApiResponses();
-    responses.addApiResponse("200", createResponse(endpoint.getResponse(), generator));
+    responses.addApiResponse("200", createResponse(endpoint.response()));
     operation.setResponses(responses);
-
-    try {
-      PathItem.HttpMethod method = PathItem.HttpMethod.valueOf(endpoint.getHttpMethod().toUpperCase(Locale.ROOT));
-      pathItem.operation(method, operation);
-    } catch (IllegalArgumentException ex) {
-      LOGGER.warn("Unsupported HTTP method {} for path {}", endpoint.getHttpMethod(), path);
+    if (endpoint.truncated()) {
+      operation.addExtension("x-extractor-truncated", true);
     }
+    return operation;
   }
 
-  private RequestBody createRequestBody(Payload payload, SchemaGenerator generator) {
+  private RequestBody createRequestBody(ResolvedEndpoint.Payload payload) {
     RequestBody requestBody = new RequestBody();
-    requestBody.setRequired(payload.isRequired());
-    requestBody.setContent(createContent(payload, generator));
+    requestBody.setRequired(payload.required());
+    requestBody.setContent(createContent(payload));
     return requestBody;
   }
 
-  private ApiResponse createResponse(Payload payload, SchemaGenerator generator) {
+  private ApiResponse createResponse(ResolvedEndpoint.Payload payload) {
     ApiResponse response = new ApiResponse();
     response.setDescription("OK");
-    response.setContent(createContent(payload, generator));
+    response.setContent(createContent(payload));
     return response;
   }
 
-  private Content createContent(Payload payload, SchemaGenerator generator) {
+  private Content createContent(ResolvedEndpoint.Payload payload) {
     Content content = new Content();
     if (payload == null) {
       MediaType mt = new MediaType();
@@ -114,111 +341,237 @@ public final class OpenApiBuilder {
       content.addMediaType("application/json", mt);
       return content;
     }
-    List<String> mediaTypes = payload.getMediaTypes();
+    List<String> mediaTypes = payload.mediaTypes();
     if (mediaTypes == null || mediaTypes.isEmpty()) {
       mediaTypes = List.of("application/json");
     }
     for (String mediaType : mediaTypes) {
       String normalized = config.normalizeMediaType(mediaType);
-      Schema<?> schema = schemaForPayload(payload, generator);
       MediaType mt = new MediaType();
-      mt.setSchema(schema);
+      mt.setSchema(payload.schema());
       content.addMediaType(normalized, mt);
     }
     return content;
   }
 
-  private Schema<?> schemaForPayload(Payload payload, SchemaGenerator generator) {
-    Schema<?> inner = generator.toSchema(payload.getJavaType());
-    WrapperMeta meta = payload.getWrapperMeta();
-    if (meta == null) {
-      return inner;
-    }
-    Optional<Map<String, Object>> template = meta.getSchemaTemplate();
-    if (template.isEmpty()) {
-      return inner;
+  public void write(Path output, SchemaGenerator generator) throws IOException {
+    write(output, generator.getComponents());
+  }
+
+  @SuppressWarnings("rawtypes")
+  public void write(Path output, Map<String, Schema> components) throws IOException {
+    finishComponents(components);
+    writeDocument(output);
+  }
+
+  /**
+   * Writes the document split by {@code output.shardBy}: a path belongs to the controller that
+   * first declared it, or to its first path segment.
+   */
+  public void writeSharded(Path output, SchemaGenerator generator) throws IOException {
+    writeSharded(output, generator.getComponents());
+  }
+
+  @SuppressWarnings("rawtypes")
+  public void writeSharded(Path output, Map<String, Schema> components) throws IOException {
+    finishComponents(components);
+    ShardMode mode = ShardMode.parse(config.getOutput().getShardBy());
+    Map<String, String> shardOfPath = new HashMap<>();
+    for (String path : openApi.getPaths().keySet()) {
+      String shard =
+          mode == ShardMode.CONTROLLER ? controllerOfPath.get(path) : firstSegment(path);
+      if (shard != null) {
+        shardOfPath.put(path, shard);
+      }
     }
-    return applyWrapperTemplate(meta, template.get(), inner);
+    OutputFormat format = OutputFormat.parse(config.getOutput().getFormat());
+    ObjectMapper mapper = format == OutputFormat.YAML ? YAML_MAPPER : JSON_MAPPER;
+    new ShardedWriter(
+            mapper,
+            documentWriter(format),
+            format,
+            OutputCompression.parse(config.getOutput().getCompress()),
+            context)
+        .write(output, openApi, shardOfPath);
   }
 
-  @SuppressWarnings("unchecked")
-  private Schema<?> applyWrapperTemplate(
-      WrapperMeta meta, Map<String, Object> template, Schema<?> inner) {
-    if (template == null || template.isEmpty()) {
-      return inner;
+  @SuppressWarnings("rawtypes")
+  private void finishComponents(Map<String, Schema> schemas) {
+    if (config.getOutput().isDedupeComponents()) {
+      new ComponentDeduplicator().deduplicate(schemas, openApi.getPaths());
     }
-    try {
-      Map<String, Object> templateCopy = SCHEMA_MAPPER.convertValue(template, MAP_TYPE);
-      Map<String, Object> innerMap = SCHEMA_MAPPER.convertValue(inner, MAP_TYPE);
-      Object merged = replaceTemplatePlaceholders(templateCopy, innerMap);
-      if (merged instanceof Map<?, ?> mergedMap) {
-        return SCHEMA_MAPPER.convertValue(mergedMap, Schema.class);
-      }
-    } catch (IllegalArgumentException ex) {
-      LOGGER.warn(
-          "Failed to apply wrapper schema for {}: {}", meta.getWrapperType(), ex.getMessage());
+    if (config.getOutput().isPruneUnreachable()) {
+      new ComponentPruner().prune(schemas, openApi.getPaths());
+    }
+    markPartial();
+    if (isCanonical()) {
+      Paths sorted = new Paths();
+      sorted.putAll(new TreeMap<>(openApi.getPaths()));
+      sorted.setExtensions(openApi.getPaths().getExtensions());
+      openApi.setPaths(sorted);
     }
-    return inner;
+    Components components = new Components();
+    components.setSchemas(ordered(schemas));
+    openApi.setComponents(components);
+    metrics.add(RunMetrics.COMPONENTS_WRITTEN, schemas.size());
   }
 
-  private Object replaceTemplatePlaceholders(Object node, Map<String, Object> inner) {
-    if (node instanceof Map<?, ?> rawMap) {
-      Map<String, Object> map = new LinkedHashMap<>();
-      for (Map.Entry<?, ?> entry : rawMap.entrySet()) {
-        map.put(String.valueOf(entry.getKey()), entry.getValue());
-      }
-      if (map.size() == 1 && map.containsKey("$ref") && isTemplatePlaceholder(map.get("$ref"))) {
-        return deepCopy(inner);
-      }
-      Map<String, Object> replaced = new LinkedHashMap<>();
-      for (Map.Entry<String, Object> entry : map.entrySet()) {
-        replaced.put(entry.getKey(), replaceTemplatePlaceholders(entry.getValue(), inner));
+  private boolean isCanonical() {
+    return config.getOutput().isCanonical();
+  }
+
+  @SuppressWarnings("rawtypes")
+  private Map<String, Schema> ordered(Map<String, Schema> components) {
+    return isCanonical() ? new TreeMap<>(components) : components;
+  }
+
+  private static String firstSegment(String path) {
+    for (String segment : path.split("/")) {
+      if (!segment.isEmpty()) {
+        return segment;
       }
-      return replaced;
     }
-    if (node instanceof List<?> list) {
-      List<Object> replaced = new ArrayList<>(list.size());
-      for (Object element : list) {
-        replaced.add(replaceTemplatePlaceholders(element, inner));
-      }
-      return replaced;
+    return null;
+  }
+
+  /**
+   * Builds and writes the document one path at a time instead of accumulating all operations first.
+   * Endpoints are grouped by path in discovery order, so the output matches {@link #write}.
+   * Components are written once the last path is out, pruned against the refs seen on the way.
+   *
+   * <p>When {@code generator} spills components, {@code endpoints} is emptied and each path's
+   * endpoints are dropped once written, so they can be collected during the write.
+   */
+  public void writeStreaming(Path output, List<Endpoint> endpoints, SchemaGenerator generator)
+      throws IOException {
+    Map<String, List<Endpoint>> byPath = isCanonical() ? new TreeMap<>() : new LinkedHashMap<>();
+    for (Endpoint endpoint : endpoints) {
+      byPath.computeIfAbsent(endpoint.getFullPath(), p -> new ArrayList<>()).add(endpoint);
     }
-    if (isTemplatePlaceholder(node)) {
-      return deepCopy(inner);
+    boolean release = generator.getComponentStore() != null;
+    if (release) {
+      endpoints.clear();
+    }
+    Components components = new Components();
+    openApi.setComponents(components);
+    openApi.setPaths(
+        new StreamingPaths(
+            sink -> {
+              Set<String> roots = new HashSet<>();
+              for (Map.Entry<String, List<Endpoint>> entry : byPath.entrySet()) {
+                PathItem pathItem = null;
+                for (Endpoint endpoint : entry.getValue()) {
+                  PathItem.HttpMethod method =
+                      resolveMethod(endpoint.getHttpMethod(), endpoint.getFullPath());
+                  if (method != null) {
+                    pathItem = pathItem != null ? pathItem : new PathItem();
+                    pathItem.operation(method, createOperation(endpoint, generator));
+                  }
+                }
+                if (release) {
+                  // Under a memory budget, written endpoints need not stay reachable.
+                  entry.setValue(List.of());
+                }
+                if (pathItem != null) {
+                  SchemaRefs.visitPathItem(
+                      pathItem,
+                      schema -> {
+                        String target = SchemaRefs.componentName(schema.get$ref());
+                        if (target != null) {
+                          roots.add(target);
+                        }
+                      });
+                  sink.accept(entry.getKey(), pathItem);
+                }
+              }
+              ComponentStore spilled = generator.getComponentStore();
+              if (config.getOutput().isPruneUnreachable()) {
+                new ComponentPruner().prune(generator.getComponents(), spilled, roots);
+              }
+              markPartial();
+              if (spilled == null || spilled.isEmpty()) {
+                components.setSchemas(ordered(generator.getComponents()));
+              } else {
+                components.setSchemas(new SpilledSchemas(generator.getComponents(), spilled));
+              }
+              metrics.add(
+                  RunMetrics.COMPONENTS_WRITTEN,
+                  generator.getComponents().size() + (spilled == null ? 0 : spilled.count()));
+            }));
+    writeDocument(output);
+  }
+
+  private void writeDocument(Path output) throws IOException {
+    ExtractorEvents.OutputWritten event = new ExtractorEvents.OutputWritten();
+    event.begin();
+    boolean changed = renderDocument(output);
+    event.end();
+    if (event.shouldCommit()) {
+      event.path = output.toString();
+      event.format = OutputFormat.parse(config.getOutput().getFormat()).id();
+      event.bytes = Files.size(output);
+      event.changed = changed;
+      event.commit();
     }
-    return node;
   }
 
-  private Object deepCopy(Object value) {
-    if (value instanceof Map<?, ?> map) {
-      Map<String, Object> copy = new LinkedHashMap<>();
-      for (Map.Entry<?, ?> entry : map.entrySet()) {
-        copy.put(String.valueOf(entry.getKey()), deepCopy(entry.getValue()));
+  private boolean renderDocument(Path output) throws IOException {
+    ExtractorConfig.OutputConfig options = config.getOutput();
+    ObjectWriter writer = documentWriter(OutputFormat.parse(options.getFormat()));
+    OutputCompression compression = OutputCompression.parse(options.getCompress());
+    if (!options.isSkipUnchanged()) {
+      try (OutputStream out =
+          compression.wrap(
+              new BufferedOutputStream(
+                  metrics.countBytes(Files.newOutputStream(output)), BUFFER_SIZE))) {
+        writer.writeValue(out, openApi);
       }
-      return copy;
+      return true;
     }
-    if (value instanceof List<?> list) {
-      List<Object> copy = new ArrayList<>(list.size());
-      for (Object element : list) {
-        copy.add(deepCopy(element));
+    Path directory = output.toAbsolutePath().getParent();
+    Path rendered = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+    try {
+      MessageDigest digest = ContentHash.newDigest();
+      try (OutputStream out =
+          compression.wrap(
+              new BufferedOutputStream(
+                  new DigestOutputStream(
+                      metrics.countBytes(Files.newOutputStream(rendered)), digest),
+                  BUFFER_SIZE))) {
+        writer.writeValue(out, openApi);
       }
-      return copy;
+      return ContentHash.commit(rendered, output, digest.digest());
+    } finally {
+      Files.deleteIfExists(rendered);
     }
-    return value;
   }
 
-  private boolean isTemplatePlaceholder(Object value) {
-    return value instanceof String && "T".equals(value);
+  private static ObjectWriter documentWriter(OutputFormat format) {
+    return switch (format) {
+      case JSON -> JSON_MAPPER.writer().with(SerializationFeature.INDENT_OUTPUT);
+      case JSON_COMPACT -> JSON_MAPPER.writer();
+      case YAML -> YAML_MAPPER.writer();
+    };
   }
 
-  public void write(Path output, SchemaGenerator generator) throws IOException {
-    Components components = new Components();
-    components.setSchemas(generator.getComponents());
-    openApi.setComponents(components);
-    ObjectMapper mapper = new ObjectMapper();
-    mapper.enable(SerializationFeature.INDENT_OUTPUT);
-    try (Writer writer = Files.newBufferedWriter(output)) {
-      mapper.writeValue(writer, openApi);
+  /**
+   * Bean properties are sorted so the output does not depend on reflection order; the document
+   * root keeps the conventional OpenAPI key order.
+   */
+  private static ObjectMapper documentMapper(MapperBuilder<?, ?> builder) {
+    return builder
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .addMixIn(OpenAPI.class, DocumentOrder.class)
+        .addModule(
+            new SimpleModule()
+                .addSerializer(StreamingPaths.class, new StreamingPathsSerializer())
+                .addSerializer(SpilledSchemas.class, new SpilledSchemasSerializer()))
+        .build();
+  }
+
+  private void markPartial() {
+    if (budget.isPartial()) {
+      openApi.addExtension("x-extractor-partial", budget.getEvents());
     }
   }
 
@@ -230,4 +583,98 @@ public final class OpenApiBuilder {
       case COOKIE -> "cookie";
     };
   }
+
+  @JsonPropertyOrder({
+    "openapi",
+    "info",
+    "externalDocs",
+    "servers",
+    "security",
+    "tags",
+    "paths",
+    "components"
+  })
+  private abstract static class DocumentOrder {}
+
+  private interface PathSink {
+    void accept(String path, PathItem pathItem) throws IOException;
+  }
+
+  private interface PathProducer {
+    void produce(PathSink sink) throws IOException;
+  }
+
+  private static final class StreamingPaths extends Paths {
+    private final transient PathProducer producer;
+
+    StreamingPaths(PathProducer producer) {
+      this.producer = producer;
+    }
+  }
+
+  /**
+   * Component schemas split between memory and a {@link ComponentStore}. Spilled components were
+   * all registered before the in-memory ones, so spill order followed by map order is
+   * registration order.
+   */
+  @SuppressWarnings("rawtypes")
+  private final class SpilledSchemas extends LinkedHashMap<String, Schema> {
+    private final transient ComponentStore store;
+
+    SpilledSchemas(Map<String, Schema> inMemory, ComponentStore store) {
+      super(inMemory);
+      this.store = store;
+    }
+
+    List<String> names() {
+      List<String> names = new ArrayList<>(store.names());
+      names.addAll(keySet());
+      if (isCanonical()) {
+        names.sort(null);
+      }
+      return names;
+    }
+  }
+
+  private static final class SpilledSchemasSerializer extends StdSerializer<SpilledSchemas> {
+
+    SpilledSchemasSerializer() {
+      super(SpilledSchemas.class);
+    }
+
+    @Override
+    public void serialize(SpilledSchemas value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeStartObject();
+      for (String name : value.names()) {
+        gen.writeFieldName(name);
+        Schema<?> schema = value.get(name);
+        if (schema != null) {
+          provider.defaultSerializeValue(schema, gen);
+        } else {
+          value.store.copy(name, gen);
+        }
+      }
+      gen.writeEndObject();
+    }
+  }
+
+  private static final class StreamingPathsSerializer extends StdSerializer<StreamingPaths> {
+
+    StreamingPathsSerializer() {
+      super(StreamingPaths.class);
+    }
+
+    @Override
+    public void serialize(StreamingPaths value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      gen.writeStartObject();
+      value.producer.produce(
+          (path, pathItem) -> {
+            gen.writeFieldName(path);
+            provider.defaultSerializeValue(pathItem, gen);
+          });
+      gen.writeEndObject();
+    }
+  }
 }
@@ -0,0 +1,56 @@
+package com.yourco.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum OutputCompression {
+  NONE("none", ""),
+  GZIP("gzip", ".gz");
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final String id;
+  private final String extension;
+
+  OutputCompression(String id, String extension) {
+    this.id = id;
+    this.extension = extension;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  public OutputStream wrap(OutputStream out) throws IOException {
+    return switch (this) {
+      case NONE -> out;
+      case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+    };
+  }
+
+  public InputStream unwrap(InputStream in) throws IOException {
+    return switch (this) {
+      case NONE -> in;
+      case GZIP -> new GZIPInputStream(in, BUFFER_SIZE);
+    };
+  }
+
+  public static OutputCompression parse(String value) {
+    String normalized = value == null ? NONE.id : value.trim().toLowerCase(Locale.ROOT);
+    for (OutputCompression compression : values()) {
+      if (compression.id.equals(normalized)) {
+        return compression;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported output compression '" + value + "' (expected none or gzip)");
+  }
+}
@@ -0,0 +1,36 @@
+package com.yourco.extractor;
+
+import java.util.Locale;
+
+public enum OutputFormat {
+  JSON("json", ".json"),
+  JSON_COMPACT("json-compact", ".json"),
+  YAML("yaml", ".yaml");
+
+  private final String id;
+  private final String extension;
+
+  OutputFormat(String id, String extension) {
+    this.id = id;
+    this.extension = extension;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  public static OutputFormat parse(String value) {
+    String normalized = value == null ? JSON.id : value.trim().toLowerCase(Locale.ROOT);
+    for (OutputFormat format : values()) {
+      if (format.id.equals(normalized)) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported output format '" + value + "' (expected json, json-compact or yaml)");
+  }
+}
@@ -26,19 +26,22 @@ public final class ProjectClasspath {
     this.parserConfiguration = parserConfiguration;
   }
 
-  public static ProjectClasspath from(ExtractorConfig config) {
+  public static ProjectClasspath from(ExtractorConfig config, RunMetrics metrics) {
     CombinedTypeSolver solver = new CombinedTypeSolver();
     solver.add(new ReflectionTypeSolver(false));
 
     for (Path sourceDir : config.getSourceDirectories()) {
       LOGGER.debug("Adding source directory: {}", sourceDir);
       solver.add(new JavaParserTypeSolver(sourceDir));
+      metrics.increment(RunMetrics.CLASSPATH_SOURCE_ROOTS);
     }
     for (Path jar : config.getClasspathEntries()) {
       try {
         LOGGER.debug("Adding jar: {}", jar);
         solver.add(new JarTypeSolver(jar));
+        metrics.increment(RunMetrics.CLASSPATH_JARS);
       } catch (IOException ex) {
+        metrics.increment(RunMetrics.CLASSPATH_JAR_FAILURES);
         LOGGER.warn("Failed to add jar {} to classpath: {}", jar, ex.getMessage());
       }
     }
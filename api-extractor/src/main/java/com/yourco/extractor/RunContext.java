@@ -0,0 +1,85 @@
+package com.yourco.extractor;
+
+/**
+ * What one run reports into and is bounded by: the time budget, phase metrics, the trace and the
+ * diagnostics. Passed whole to every pipeline stage, so none of them can fall back to a private
+ * instance whose numbers nobody reads.
+ */
+public final class RunContext {
+
+  /** A unit of work whose result is returned. */
+  @FunctionalInterface
+  public interface Step<T, E extends Exception> {
+    T call() throws E;
+  }
+
+  /** A unit of work without a result. */
+  @FunctionalInterface
+  public interface Action<E extends Exception> {
+    void run() throws E;
+  }
+
+  private final ExtractionBudget budget;
+  private final RunMetrics metrics;
+  private final TraceRecorder trace;
+  private final Diagnostics diagnostics;
+
+  public RunContext(
+      ExtractionBudget budget, RunMetrics metrics, TraceRecorder trace, Diagnostics diagnostics) {
+    this.budget = budget;
+    this.metrics = metrics;
+    this.trace = trace;
+    this.diagnostics = diagnostics;
+  }
+
+  /** A context with an unlimited budget, until {@link #withBudget} sets the run's own. */
+  public static RunContext of(RunMetrics metrics, TraceRecorder trace, Diagnostics diagnostics) {
+    return new RunContext(ExtractionBudget.unlimited(), metrics, trace, diagnostics);
+  }
+
+  /** For benchmarks and embedding code that do not report metrics or diagnostics. */
+  public static RunContext standalone() {
+    return of(new RunMetrics(), TraceRecorder.disabled(), new Diagnostics());
+  }
+
+  public RunContext withBudget(ExtractionBudget budget) {
+    return new RunContext(budget, metrics, trace, diagnostics);
+  }
+
+  public ExtractionBudget budget() {
+    return budget;
+  }
+
+  public RunMetrics metrics() {
+    return metrics;
+  }
+
+  public TraceRecorder trace() {
+    return trace;
+  }
+
+  public Diagnostics diagnostics() {
+    return diagnostics;
+  }
+
+  /** Runs {@code step} as {@code phase}: timed on the metrics and recorded as a trace span. */
+  public <T, E extends Exception> T call(String phase, Step<T, E> step) throws E {
+    RunMetrics.Timer timer = metrics.start(phase);
+    TraceRecorder.Span span = trace.span("phase", phase);
+    try {
+      return step.call();
+    } finally {
+      span.close();
+      timer.close();
+    }
+  }
+
+  public <E extends Exception> void run(String phase, Action<E> action) throws E {
+    call(
+        phase,
+        () -> {
+          action.run();
+          return null;
+        });
+  }
+}
@@ -0,0 +1,259 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Phase timings and counters for one run, written as JSON with {@code --metrics-out}.
+ *
+ * <p>Phases are accumulated, so a phase entered many times (for example {@code schema}, once per
+ * type conversion) reports its total. Nested phases are included in their parent's time. CPU time
+ * is that of the thread running the phase; {@code processCpuMillis} covers all threads.
+ *
+ * <p>Heap figures come from garbage collection notifications. {@code heapUsedMaxBytes} is the
+ * highest heap occupancy seen when a collection started or when the report was written; pools
+ * are summed at one instant, so it is a real occupancy rather than a sum of per-pool peaks.
+ * {@code heapAfterGcMaxBytes} is the highest occupancy left after a collection, the closest
+ * figure to the heap a run needs, or -1 if no collection ran.
+ */
+public final class RunMetrics {
+
+  public static final String FILES_SCANNED = "files.scanned";
+  public static final String FILES_SKIPPED = "files.skipped";
+  public static final String FILES_FAILED = "files.failed";
+  public static final String RESOLUTION_CALLS = "resolution.calls";
+  public static final String RESOLUTION_FAILURES = "resolution.failures";
+  public static final String SCHEMA_CONVERSIONS = "schema.conversions";
+  public static final String SCHEMA_CACHE_HITS = "schema.cacheHits";
+  public static final String COMPONENTS_CREATED = "components.created";
+  public static final String COMPONENTS_WRITTEN = "components.written";
+  public static final String COMPONENTS_SPILLED = "components.spilled";
+  public static final String SPILL_BYTES = "spill.bytes";
+  public static final String BYTES_WRITTEN = "bytes.written";
+  public static final String CLASSPATH_SOURCE_ROOTS = "classpath.sourceRoots";
+  public static final String CLASSPATH_JARS = "classpath.jars";
+  public static final String CLASSPATH_JAR_FAILURES = "classpath.jarFailures";
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+  private static final Set<String> HEAP_POOLS = new HashSet<>();
+  /** Instances still reachable; the collection listener updates their heap maxima. */
+  private static final Set<RunMetrics> HEAP_WATCHERS =
+      Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+  static {
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        HEAP_POOLS.add(pool.getName());
+      }
+    }
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(
+            RunMetrics::onCollection,
+            notification ->
+                GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+                    notification.getType()),
+            null);
+      }
+    }
+  }
+
+  private final Instant startedAt = Instant.now();
+  private final long startNanos = System.nanoTime();
+  private final long startProcessCpu = processCpuNanos();
+  private final Map<String, PhaseStats> phases = new LinkedHashMap<>();
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final LongAccumulator heapUsedMax = new LongAccumulator(Math::max, 0);
+  private final LongAccumulator heapAfterGcMax = new LongAccumulator(Math::max, -1);
+
+  public RunMetrics() {
+    // The standard counters are always reported, at zero if nothing was counted.
+    for (String counter :
+        List.of(
+            FILES_SCANNED,
+            FILES_SKIPPED,
+            FILES_FAILED,
+            RESOLUTION_CALLS,
+            RESOLUTION_FAILURES,
+            SCHEMA_CONVERSIONS,
+            SCHEMA_CACHE_HITS,
+            COMPONENTS_CREATED,
+            COMPONENTS_WRITTEN,
+            COMPONENTS_SPILLED,
+            SPILL_BYTES,
+            BYTES_WRITTEN,
+            CLASSPATH_SOURCE_ROOTS,
+            CLASSPATH_JARS,
+            CLASSPATH_JAR_FAILURES)) {
+      counters.put(counter, new LongAdder());
+    }
+    HEAP_WATCHERS.add(this);
+  }
+
+  /** Starts timing {@code phase}; {@link RunContext#call} also records it as a trace span. */
+  public Timer start(String phase) {
+    PhaseStats stats;
+    synchronized (phases) {
+      stats = phases.computeIfAbsent(phase, name -> new PhaseStats());
+    }
+    return new Timer(stats);
+  }
+
+  /** Accumulated wall time per phase in milliseconds, in the order phases were first entered. */
+  public Map<String, Double> phaseWallMillis() {
+    Map<String, Double> snapshot = new LinkedHashMap<>();
+    synchronized (phases) {
+      phases.forEach((name, stats) -> snapshot.put(name, millis(stats.wallNanos.sum())));
+    }
+    return snapshot;
+  }
+
+  public void increment(String counter) {
+    add(counter, 1);
+  }
+
+  public void add(String counter, long delta) {
+    counters.computeIfAbsent(counter, name -> new LongAdder()).add(delta);
+  }
+
+  public long get(String counter) {
+    LongAdder adder = counters.get(counter);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  /** Wraps {@code out} so that every byte passing through is added to {@code bytes.written}. */
+  public OutputStream countBytes(OutputStream out) {
+    LongAdder written = counters.computeIfAbsent(BYTES_WRITTEN, name -> new LongAdder());
+    return new FilterOutputStream(out) {
+      @Override
+      public void write(int b) throws IOException {
+        out.write(b);
+        written.increment();
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        written.add(len);
+      }
+    };
+  }
+
+  public void write(Path file) throws IOException {
+    ObjectNode root = MAPPER.createObjectNode();
+    root.put("startedAt", startedAt.toString());
+    root.put("totalWallMillis", millis(System.nanoTime() - startNanos));
+    long processCpu = processCpuNanos();
+    root.put("processCpuMillis", processCpu < 0 ? -1 : millis(processCpu - startProcessCpu));
+    heapUsedMax.accumulate(MEMORY.getHeapMemoryUsage().getUsed());
+    root.put("heapUsedMaxBytes", heapUsedMax.get());
+    root.put("heapAfterGcMaxBytes", heapAfterGcMax.get());
+    ObjectNode phaseNodes = root.putObject("phases");
+    synchronized (phases) {
+      phases.forEach(
+          (name, stats) ->
+              phaseNodes
+                  .putObject(name)
+                  .put("count", stats.count.sum())
+                  .put("wallMillis", millis(stats.wallNanos.sum()))
+                  .put("cpuMillis", millis(stats.cpuNanos.sum())));
+    }
+    ObjectNode counterNodes = root.putObject("counters");
+    new TreeMap<>(counters).forEach((name, value) -> counterNodes.put(name, value.sum()));
+    MAPPER.writeValue(file.toFile(), root);
+  }
+
+  private static double millis(long nanos) {
+    return Math.round(nanos / 1e4) / 100.0;
+  }
+
+  private static long threadCpuNanos() {
+    return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+  }
+
+  private static long processCpuNanos() {
+    OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    if (os instanceof com.sun.management.OperatingSystemMXBean sun) {
+      return sun.getProcessCpuTime();
+    }
+    return -1;
+  }
+
+  private static void onCollection(Notification notification, Object handback) {
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    long before = heapUsed(info.getGcInfo().getMemoryUsageBeforeGc());
+    long after = heapUsed(info.getGcInfo().getMemoryUsageAfterGc());
+    synchronized (HEAP_WATCHERS) {
+      for (RunMetrics metrics : HEAP_WATCHERS) {
+        metrics.heapUsedMax.accumulate(before);
+        metrics.heapAfterGcMax.accumulate(after);
+      }
+    }
+  }
+
+  private static long heapUsed(Map<String, MemoryUsage> pools) {
+    long used = 0;
+    for (Map.Entry<String, MemoryUsage> pool : pools.entrySet()) {
+      if (HEAP_POOLS.contains(pool.getKey())) {
+        used += pool.getValue().getUsed();
+      }
+    }
+    return used;
+  }
+
+  private static final class PhaseStats {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder wallNanos = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+  }
+
+  public static final class Timer implements AutoCloseable {
+    private final PhaseStats stats;
+    private final long wallStart = System.nanoTime();
+    private final long cpuStart = threadCpuNanos();
+
+    private Timer(PhaseStats stats) {
+      this.stats = stats;
+    }
+
+    @Override
+    public void close() {
+      stats.count.increment();
+      stats.wallNanos.add(System.nanoTime() - wallStart);
+      stats.cpuNanos.add(Math.max(0, threadCpuNanos() - cpuStart));
+    }
+  }
+}
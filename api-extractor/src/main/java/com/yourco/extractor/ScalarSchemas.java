@@ -0,0 +1,94 @@
+package com.yourco.extractor;
+
+import com.github.javaparser.resolution.types.ResolvedPrimitiveType;
+import com.yourco.extractor.types.Types;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of pre-built schemas for scalar Java types.
+ *
+ * <p>The registered instances are shared by every property of that type and must never be mutated;
+ * callers that need to add constraints go through {@link #writable(Schema)} first.
+ */
+public final class ScalarSchemas {
+
+  private final Map<String, Schema<?>> references = new HashMap<>();
+  private final Map<String, Schema<?>> primitives = new HashMap<>();
+  private final Set<Schema<?>> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public ScalarSchemas(ExtractorConfig config) {
+    register("java.lang.String", new StringSchema());
+    register("java.lang.Boolean", scalar("boolean", null));
+    Schema<?> int32 = scalar("integer", "int32");
+    register("java.lang.Integer", int32);
+    register("java.lang.Short", int32);
+    register("java.lang.Byte", int32);
+    register("java.lang.Long", scalar("integer", "int64"));
+    register("java.lang.Float", scalar("number", "float"));
+    Schema<?> number = scalar("number", "double");
+    register("java.lang.Double", number);
+    register("java.math.BigDecimal", number);
+    register("java.time.LocalDate", scalar("string", "date"));
+    Schema<?> dateTime = scalar("string", "date-time");
+    register("java.time.LocalDateTime", dateTime);
+    register("java.time.OffsetDateTime", dateTime);
+    register("java.time.Instant", dateTime);
+    register("java.util.Date", dateTime);
+    register("java.util.UUID", scalar("string", "uuid"));
+    config
+        .getScalars()
+        .forEach(
+            (type, scalar) -> register(type, scalar(scalar.getType(), scalar.getFormat())));
+
+    for (ResolvedPrimitiveType primitive : ResolvedPrimitiveType.values()) {
+      Schema<?> schema =
+          scalar(
+              Types.schemaTypeForPrimitive(primitive), Types.schemaFormatForPrimitive(primitive));
+      primitives.put(primitive.describe(), schema);
+      shared.add(schema);
+    }
+  }
+
+  public Schema<?> forReference(String qualifiedName) {
+    return references.get(qualifiedName);
+  }
+
+  public Schema<?> forPrimitive(ResolvedPrimitiveType primitive) {
+    return primitives.get(primitive.describe());
+  }
+
+  public boolean isShared(Schema<?> schema) {
+    return shared.contains(schema);
+  }
+
+  /** Returns {@code schema} itself, or a private copy if it is a shared registry instance. */
+  public Schema<?> writable(Schema<?> schema) {
+    if (!isShared(schema)) {
+      return schema;
+    }
+    Schema<?> copy = schema instanceof StringSchema ? new StringSchema() : new Schema<>();
+    copy.setType(schema.getType());
+    copy.setFormat(schema.getFormat());
+    return copy;
+  }
+
+  private void register(String qualifiedName, Schema<?> schema) {
+    references.put(qualifiedName, schema);
+    shared.add(schema);
+  }
+
+  private static Schema<?> scalar(String type, String format) {
+    Schema<?> schema = new Schema<>();
+    schema.setType(type);
+    if (format != null) {
+      schema.setFormat(format);
+    }
+    return schema;
+  }
+}
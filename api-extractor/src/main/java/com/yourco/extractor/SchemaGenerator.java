@@ -6,14 +6,18 @@ import com.github.javaparser.resolution.declarations.ResolvedEnumDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedEnumConstantDeclaration;
 import com.github.javaparser.resolution.types.ResolvedPrimitiveType;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
 import com.yourco.extractor.types.JavaType;
 import com.yourco.extractor.types.Types;
 import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.ComposedSchema;
 import io.swagger.v3.oas.models.media.MapSchema;
 import io.swagger.v3.oas.models.media.ObjectSchema;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.media.StringSchema;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -21,37 +25,165 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.function.Supplier;
 
 public final class SchemaGenerator {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaGenerator.class);
-
   private final ExtractorConfig config;
   private final Map<String, Schema> components = new LinkedHashMap<>();
   private final Set<String> processing = ConcurrentHashMap.newKeySet();
+  private final Map<String, Set<String>> instantiations = new HashMap<>();
+  private final Map<String, Set<String>> collapsed = new LinkedHashMap<>();
   private final JacksonSupport jacksonSupport = new JacksonSupport();
-  private final BeanValidationSupport validationSupport = new BeanValidationSupport();
+  private final RunContext context;
+  private final ExtractionBudget budget;
+  private final RunMetrics metrics;
+  private final ComponentStore spill;
+  private final InstantiationOverflow overflow;
+  private boolean overBudget;
+  private ExtractionBudget.Scope typeScope;
+  private int truncations;
+  private final Map<String, Schema<?>> resolved = new HashMap<>();
+  private final ScalarSchemas scalarSchemas;
+  private final BeanValidationSupport validationSupport;
 
-  public SchemaGenerator(ProjectClasspath classpath, ExtractorConfig config) {
+  /**
+   * {@code spill} may be null. With a store, finished components are moved to disk whenever their
+   * estimated size exceeds its budget; only {@link OpenApiBuilder#writeStreaming} can write them
+   * back.
+   */
+  public SchemaGenerator(
+      ProjectClasspath classpath,
+      ExtractorConfig config,
+      RunContext context,
+      ComponentStore spill) {
     this.config = config;
+    this.scalarSchemas = new ScalarSchemas(config);
+    this.validationSupport = new BeanValidationSupport(scalarSchemas);
+    this.context = context;
+    this.budget = context.budget();
+    this.metrics = context.metrics();
+    this.spill = spill;
+    this.overflow = InstantiationOverflow.parse(config.getLimits().getInstantiationOverflow());
   }
 
+  /**
+   * Converts {@code type} to a schema. Results that were not truncated are memoized per type, so
+   * the returned schema may be shared and must not be mutated. Not thread-safe: JavaParser symbol
+   * resolution is not, and resolved types keep resolving lazily through the solver of the scan.
+   */
   public Schema<?> toSchema(JavaType type) {
-    return toSchema(type, 0);
+    String key = type == null ? null : type.describe();
+    ExtractorEvents.TypeResolved event = new ExtractorEvents.TypeResolved();
+    event.begin();
+    Schema<?> cached = key == null ? null : resolved.get(key);
+    if (cached != null) {
+      metrics.increment(RunMetrics.SCHEMA_CACHE_HITS);
+      commit(event, type, true);
+      return cached;
+    }
+    metrics.increment(RunMetrics.SCHEMA_CONVERSIONS);
+    int before = truncations;
+    Schema<?> schema;
+    try (ExtractionBudget.Scope scope = budget.startType(type)) {
+      typeScope = scope;
+      schema = context.call("schema", () -> toSchema(type, 0));
+    } finally {
+      typeScope = null;
+    }
+    if (key != null && truncations == before && resolved.putIfAbsent(key, schema) == null) {
+      track(schema);
+    }
+    spillIfOverBudget();
+    commit(event, type, false);
+    return schema;
+  }
+
+  private static void commit(ExtractorEvents.TypeResolved event, JavaType type, boolean hit) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.type = type == null ? "void" : type.describe();
+      event.solver = ExtractorEvents.solverOf(type == null ? null : type.resolved());
+      event.cacheHit = hit;
+      event.commit();
+    }
+  }
+
+  private static void commit(ExtractorEvents.ComponentBuilt event, String name, Schema<?> schema) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.name = name;
+      event.properties = schema.getProperties() == null ? 0 : schema.getProperties().size();
+      event.commit();
+    }
   }
 
+  public int getTruncationCount() {
+    return truncations;
+  }
+
+  /** Components still in memory; see {@link #getComponentStore()} for spilled ones. */
   public Map<String, Schema> getComponents() {
     return components;
   }
 
+  /** The store holding spilled components, or null when no memory budget applies. */
+  public ComponentStore getComponentStore() {
+    return spill;
+  }
+
+  private boolean hasComponent(String name) {
+    return components.containsKey(name) || (spill != null && spill.contains(name));
+  }
+
+  private void track(Schema<?> schema) {
+    if (spill != null && spill.track(ComponentStore.estimate(schema))) {
+      overBudget = true;
+    }
+  }
+
+  /**
+   * Spills once no component is half-built, so every spilled schema is complete. Memoized schemas
+   * count against the same budget and are dropped with each spill.
+   */
+  private void spillIfOverBudget() {
+    if (overBudget && processing.isEmpty()) {
+      spill.spill(components);
+      resolved.clear();
+      overBudget = false;
+    }
+  }
+
+  public Schema<?> registerComponent(String name, Supplier<Schema<?>> factory) {
+    if (!hasComponent(name)) {
+      ExtractorEvents.ComponentBuilt event = new ExtractorEvents.ComponentBuilt();
+      event.begin();
+      Schema<?> schema = context.trace().call("component", name, factory::get);
+      components.put(name, schema);
+      metrics.increment(RunMetrics.COMPONENTS_CREATED);
+      commit(event, name, schema);
+      track(schema);
+      spillIfOverBudget();
+    }
+    return referenceSchema(name);
+  }
+
+  public Map<String, Integer> getCollapsedInstantiations() {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    collapsed.forEach((rawType, names) -> counts.put(rawType, names.size()));
+    return counts;
+  }
+
   private Schema<?> toSchema(JavaType type, int depth) {
     if (type == null) {
       return objectSchema();
     }
+    if (isTypeBudgetExceeded()) {
+      truncations++;
+      return objectSchema();
+    }
     if (depth > config.getLimits().getMaxDepth()) {
-      LOGGER.warn("Depth limit exceeded for type {}", type.describe());
+      context.diagnostics().report(Diagnostics.Kind.DEPTH_LIMIT, type.describe(), null);
       return objectSchema();
     }
     if (type.isPrimitive()) {
@@ -65,7 +197,7 @@ public final class SchemaGenerator {
     }
     if (Types.isOptional(type)) {
       Optional<JavaType> inner = type.getFirstTypeArgument();
-      Schema<?> schema = toSchema(inner.orElse(null), depth + 1);
+      Schema<?> schema = scalarSchemas.writable(toSchema(inner.orElse(null), depth + 1));
       schema.setNullable(true);
       return schema;
     }
@@ -90,9 +222,11 @@ public final class SchemaGenerator {
         return objectSchema();
       }
       ResolvedReferenceType ref = type.asReferenceType();
+      metrics.increment(RunMetrics.RESOLUTION_CALLS);
       try {
         Optional<ResolvedReferenceTypeDeclaration> declarationOpt = ref.getTypeDeclaration();
         if (declarationOpt.isEmpty()) {
+          metrics.increment(RunMetrics.RESOLUTION_FAILURES);
           return objectSchema();
         }
         ResolvedReferenceTypeDeclaration declaration = declarationOpt.get();
@@ -101,7 +235,10 @@ public final class SchemaGenerator {
         }
         return registerObject(type, declaration, depth + 1);
       } catch (UnsupportedOperationException ex) {
-        LOGGER.debug("Unsupported type declaration for {}: {}", type.describe(), ex.getMessage());
+        metrics.increment(RunMetrics.RESOLUTION_FAILURES);
+        context
+            .diagnostics()
+            .report(Diagnostics.Kind.DECLARATION_UNSUPPORTED, type.describe(), ex.getMessage());
         return objectSchema();
       }
     }
@@ -109,123 +246,145 @@ public final class SchemaGenerator {
   }
 
   private Schema<?> schemaForPrimitive(ResolvedPrimitiveType primitive) {
-    Schema<?> schema = new Schema<>();
-    schema.setType(Types.schemaTypeForPrimitive(primitive));
-    String format = Types.schemaFormatForPrimitive(primitive);
-    if (format != null) {
-      schema.setFormat(format);
-    }
-    return schema;
+    return scalarSchemas.forPrimitive(primitive);
   }
 
   private Schema<?> schemaForKnownReference(JavaType type) {
-    String qn = type.getQualifiedName();
-    switch (qn) {
-      case "java.lang.String":
-        return new StringSchema();
-      case "java.lang.Boolean":
-        Schema<?> bool = new Schema<>();
-        bool.setType("boolean");
-        return bool;
-      case "java.lang.Integer":
-      case "java.lang.Short":
-      case "java.lang.Byte":
-        Schema<?> int32 = new Schema<>();
-        int32.setType("integer");
-        int32.setFormat("int32");
-        return int32;
-      case "java.lang.Long":
-        Schema<?> int64 = new Schema<>();
-        int64.setType("integer");
-        int64.setFormat("int64");
-        return int64;
-      case "java.lang.Float":
-        Schema<?> floatSchema = new Schema<>();
-        floatSchema.setType("number");
-        floatSchema.setFormat("float");
-        return floatSchema;
-      case "java.lang.Double":
-      case "java.math.BigDecimal":
-        Schema<?> number = new Schema<>();
-        number.setType("number");
-        number.setFormat("double");
-        return number;
-      case "java.time.LocalDate":
-        Schema<?> date = new Schema<>();
-        date.setType("string");
-        date.setFormat("date");
-        return date;
-      case "java.time.LocalDateTime":
-      case "java.time.OffsetDateTime":
-      case "java.time.Instant":
-      case "java.util.Date":
-        Schema<?> dateTime = new Schema<>();
-        dateTime.setType("string");
-        dateTime.setFormat("date-time");
-        return dateTime;
-      case "java.util.UUID":
-        Schema<?> uuid = new Schema<>();
-        uuid.setType("string");
-        uuid.setFormat("uuid");
-        return uuid;
-      default:
-        return null;
-    }
+    return scalarSchemas.forReference(type.getQualifiedName());
   }
 
   private Schema<?> registerEnum(JavaType type, ResolvedEnumDeclaration declaration) {
     String name = Types.schemaName(type);
-    if (components.containsKey(name)) {
+    if (hasComponent(name)) {
       return referenceSchema(name);
     }
+    ExtractorEvents.ComponentBuilt event = new ExtractorEvents.ComponentBuilt();
+    event.begin();
     List<String> values = new ArrayList<>();
-    for (ResolvedEnumConstantDeclaration constant : declaration.getEnumConstants()) {
-      values.add(constant.getName());
-    }
+    context
+        .trace()
+        .run(
+            "component",
+            name,
+            () -> {
+              for (ResolvedEnumConstantDeclaration constant : declaration.getEnumConstants()) {
+                values.add(constant.getName());
+              }
+            });
     StringSchema schema = new StringSchema();
     schema.setEnum(values);
     components.put(name, schema);
+    metrics.increment(RunMetrics.COMPONENTS_CREATED);
+    commit(event, name, schema);
+    track(schema);
     return referenceSchema(name);
   }
 
   private Schema<?> registerObject(
       JavaType type, ResolvedReferenceTypeDeclaration declaration, int depth) {
     String name = Types.schemaName(type);
-    if (components.containsKey(name)) {
+    if (hasComponent(name)) {
       return referenceSchema(name);
     }
+    if (exceedsInstantiationLimit(type, name)) {
+      return collapsedInstantiation(type, declaration, depth);
+    }
+    return buildObject(name, declaration, depth);
+  }
+
+  private boolean exceedsInstantiationLimit(JavaType type, String name) {
+    int max = config.getLimits().getMaxInstantiationsPerRawType();
+    if (max <= 0 || type.getTypeArguments().isEmpty()) {
+      return false;
+    }
+    String rawType = type.getQualifiedName();
+    Set<String> names = instantiations.computeIfAbsent(rawType, k -> new HashSet<>());
+    if (names.contains(name) || names.size() < max) {
+      names.add(name);
+      return false;
+    }
+    collapsed.computeIfAbsent(rawType, k -> new HashSet<>()).add(name);
+    return true;
+  }
+
+  private Schema<?> collapsedInstantiation(
+      JavaType type, ResolvedReferenceTypeDeclaration declaration, int depth) {
+    String erasedName = Types.rawSchemaName(type);
+    Schema<?> erased =
+        hasComponent(erasedName)
+            ? referenceSchema(erasedName)
+            : buildObject(erasedName, declaration, depth);
+    if (overflow != InstantiationOverflow.ENVELOPE) {
+      return erased;
+    }
+    Map<String, Schema> payload = new LinkedHashMap<>();
+    for (ResolvedFieldDeclaration field : declaration.getAllFields()) {
+      if (field.isStatic()
+          || !mentionsTypeVariable(field.getType())
+          || jacksonSupport.isIgnored(field)) {
+        continue;
+      }
+      ResolvedType substituted =
+          type.asReferenceType().useThisTypeParametersOnTheGivenType(field.getType());
+      if (mentionsTypeVariable(substituted)) {
+        continue;
+      }
+      String fieldName = field.getName();
+      String propertyName = jacksonSupport.findSerializedName(field, fieldName).orElse(fieldName);
+      payload.put(propertyName, toSchema(JavaType.from(substituted), depth + 1));
+    }
+    if (payload.isEmpty()) {
+      return erased;
+    }
+    ObjectSchema inline = new ObjectSchema();
+    inline.setProperties(payload);
+    ComposedSchema envelope = new ComposedSchema();
+    envelope.addAllOfItem(erased);
+    envelope.addAllOfItem(inline);
+    return envelope;
+  }
+
+  /** True for {@code T} as well as types built from it, like {@code List<T>} or {@code T[]}. */
+  private static boolean mentionsTypeVariable(ResolvedType type) {
+    if (type.isTypeVariable()) {
+      return true;
+    }
+    if (type.isArray()) {
+      return mentionsTypeVariable(type.asArrayType().getComponentType());
+    }
+    if (type.isWildcard()) {
+      return type.asWildcard().isBounded()
+          && mentionsTypeVariable(type.asWildcard().getBoundedType());
+    }
+    if (type.isReferenceType()) {
+      for (ResolvedType argument : type.asReferenceType().typeParametersValues()) {
+        if (mentionsTypeVariable(argument)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private Schema<?> buildObject(
+      String name, ResolvedReferenceTypeDeclaration declaration, int depth) {
     if (!processing.add(name)) {
       return referenceSchema(name);
     }
+    ExtractorEvents.ComponentBuilt event = new ExtractorEvents.ComponentBuilt();
+    event.begin();
     ObjectSchema schema = new ObjectSchema();
     components.put(name, schema);
+    metrics.increment(RunMetrics.COMPONENTS_CREATED);
     Set<String> required = new LinkedHashSet<>();
     Map<String, Schema> properties = new LinkedHashMap<>();
-    Set<String> seen = new LinkedHashSet<>();
     try {
-      for (ResolvedFieldDeclaration field : declaration.getAllFields()) {
-        if (field.isStatic()) {
-          continue;
-        }
-        String fieldName = field.getName();
-        String propertyName =
-            jacksonSupport.findSerializedName(field, fieldName).orElse(fieldName);
-        if (seen.contains(propertyName)) {
-          continue;
-        }
-        if (jacksonSupport.isIgnored(field)) {
-          continue;
-        }
-        JavaType fieldType = JavaType.from(field.getType());
-        Schema<?> propertySchema = toSchema(fieldType, depth + 1);
-        properties.put(propertyName, propertySchema);
-        seen.add(propertyName);
-        validationSupport.apply(propertyName, field, propertySchema, required);
-        if (properties.size() >= config.getLimits().getMaxProperties()) {
-          LOGGER.warn("Property limit exceeded for {}", name);
-          break;
-        }
-      }
+      context
+          .trace()
+          .run(
+              "component",
+              name,
+              () -> addProperties(schema, declaration, name, depth, properties, required));
     } finally {
       processing.remove(name);
     }
@@ -235,9 +394,55 @@ public final class SchemaGenerator {
     if (!required.isEmpty()) {
       schema.setRequired(new ArrayList<>(required));
     }
+    commit(event, name, schema);
+    track(schema);
     return referenceSchema(name);
   }
 
+  private void addProperties(
+      ObjectSchema schema,
+      ResolvedReferenceTypeDeclaration declaration,
+      String name,
+      int depth,
+      Map<String, Schema> properties,
+      Set<String> required) {
+    Set<String> seen = new LinkedHashSet<>();
+    for (ResolvedFieldDeclaration field : declaration.getAllFields()) {
+      if (field.isStatic()) {
+        continue;
+      }
+      if (isTypeBudgetExceeded()) {
+        schema.addExtension("x-extractor-truncated", true);
+        truncations++;
+        budget.record("Truncated schema " + name + " after exceeding its schema budget");
+        break;
+      }
+      String fieldName = field.getName();
+      String propertyName =
+          jacksonSupport.findSerializedName(field, fieldName).orElse(fieldName);
+      if (seen.contains(propertyName)) {
+        continue;
+      }
+      if (jacksonSupport.isIgnored(field)) {
+        continue;
+      }
+      JavaType fieldType = JavaType.from(field.getType());
+      Schema<?> propertySchema =
+          validationSupport.apply(
+              propertyName, field, toSchema(fieldType, depth + 1), required);
+      properties.put(propertyName, propertySchema);
+      seen.add(propertyName);
+      if (properties.size() >= config.getLimits().getMaxProperties()) {
+        context.diagnostics().report(Diagnostics.Kind.PROPERTY_LIMIT, name, null);
+        break;
+      }
+    }
+  }
+
+  private boolean isTypeBudgetExceeded() {
+    return typeScope != null && typeScope.isExpired();
+  }
+
   private Schema<?> referenceSchema(String name) {
     Schema<?> schema = new Schema<>();
     schema.set$ref("#/components/schemas/" + name);
@@ -0,0 +1,122 @@
+package com.yourco.extractor;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/** Helpers for walking schema trees and the {@code $ref}s between components. */
+public final class SchemaRefs {
+
+  public static final String COMPONENT_PREFIX = "#/components/schemas/";
+
+  private SchemaRefs() {}
+
+  public static String componentName(String ref) {
+    if (ref == null || !ref.startsWith(COMPONENT_PREFIX)) {
+      return null;
+    }
+    return ref.substring(COMPONENT_PREFIX.length());
+  }
+
+  public static String componentRef(String name) {
+    return COMPONENT_PREFIX + name;
+  }
+
+  /** Visits every schema node used by the operations in {@code paths}, including nested ones. */
+  public static void visitPaths(Paths paths, Consumer<Schema<?>> visitor) {
+    if (paths == null) {
+      return;
+    }
+    for (PathItem pathItem : paths.values()) {
+      visitPathItem(pathItem, visitor);
+    }
+  }
+
+  public static void visitPathItem(PathItem pathItem, Consumer<Schema<?>> visitor) {
+    if (pathItem == null) {
+      return;
+    }
+    visitParameters(pathItem.getParameters(), visitor);
+    for (Operation operation : pathItem.readOperations()) {
+      visitOperation(operation, visitor);
+    }
+  }
+
+  public static void visitOperation(Operation operation, Consumer<Schema<?>> visitor) {
+    visitParameters(operation.getParameters(), visitor);
+    if (operation.getRequestBody() != null) {
+      visitContent(operation.getRequestBody().getContent(), visitor);
+    }
+    if (operation.getResponses() != null) {
+      for (ApiResponse response : operation.getResponses().values()) {
+        visitContent(response.getContent(), visitor);
+      }
+    }
+  }
+
+  /** Visits every schema node of the given component map, including nested ones. */
+  public static void visitComponents(Map<String, Schema> components, Consumer<Schema<?>> visitor) {
+    for (Schema<?> schema : components.values()) {
+      visitTree(schema, visitor);
+    }
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public static void visitTree(Schema<?> schema, Consumer<Schema<?>> visitor) {
+    if (schema == null) {
+      return;
+    }
+    visitor.accept(schema);
+    Map<String, Schema> properties = schema.getProperties();
+    if (properties != null) {
+      for (Schema property : properties.values()) {
+        visitTree(property, visitor);
+      }
+    }
+    visitTree(schema.getItems(), visitor);
+    if (schema.getAdditionalProperties() instanceof Schema additional) {
+      visitTree(additional, visitor);
+    }
+    visitTree(schema.getNot(), visitor);
+    visitAll(schema.getAllOf(), visitor);
+    visitAll(schema.getAnyOf(), visitor);
+    visitAll(schema.getOneOf(), visitor);
+  }
+
+  @SuppressWarnings("rawtypes")
+  private static void visitAll(List<Schema> schemas, Consumer<Schema<?>> visitor) {
+    if (schemas == null) {
+      return;
+    }
+    for (Schema schema : schemas) {
+      visitTree(schema, visitor);
+    }
+  }
+
+  private static void visitParameters(List<Parameter> parameters, Consumer<Schema<?>> visitor) {
+    if (parameters == null) {
+      return;
+    }
+    for (Parameter parameter : parameters) {
+      visitTree(parameter.getSchema(), visitor);
+      visitContent(parameter.getContent(), visitor);
+    }
+  }
+
+  private static void visitContent(Content content, Consumer<Schema<?>> visitor) {
+    if (content == null) {
+      return;
+    }
+    for (MediaType mediaType : content.values()) {
+      visitTree(mediaType.getSchema(), visitor);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.yourco.extractor;
+
+import java.util.Locale;
+
+public enum ShardMode {
+  NONE("none"),
+  CONTROLLER("controller"),
+  PATH("path");
+
+  private final String id;
+
+  ShardMode(String id) {
+    this.id = id;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public static ShardMode parse(String value) {
+    String normalized = value == null ? NONE.id : value.trim().toLowerCase(Locale.ROOT);
+    for (ShardMode mode : values()) {
+      if (mode.id.equals(normalized)) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported shard mode '" + value + "' (expected none, controller or path)");
+  }
+}
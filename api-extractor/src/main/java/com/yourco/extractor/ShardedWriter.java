@@ -0,0 +1,304 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a document as a small root file, one file per shard and a shared components file.
+ *
+ * <p>For an output of {@code out/api.json} the shards go to {@code out/api/paths/} and the schemas
+ * to {@code out/api/components.json}. The root keeps the info block and a {@code $ref} per path
+ * into its shard; shards refer to schemas in the components file. Files are rendered concurrently
+ * and only rewritten when their parsed content differs from what is already on disk.
+ */
+public final class ShardedWriter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ShardedWriter.class);
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String PATHS_DIR = "paths";
+  private static final String COMPONENTS_FILE = "components";
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+  private final ObjectMapper mapper;
+  private final ObjectWriter writer;
+  private final OutputFormat format;
+  private final OutputCompression compression;
+  private final String extension;
+  private final RunContext context;
+  private final RunMetrics metrics;
+
+  public ShardedWriter(
+      ObjectMapper mapper,
+      ObjectWriter writer,
+      OutputFormat format,
+      OutputCompression compression,
+      RunContext context) {
+    this.mapper = mapper;
+    this.writer = writer;
+    this.format = format;
+    this.compression = compression;
+    this.extension = format.extension() + compression.extension();
+    this.context = context;
+    this.metrics = context.metrics();
+  }
+
+  /** Writes {@code document} sharded by {@code shardOfPath}; paths without a shard go to "root". */
+  public void write(Path output, OpenAPI document, Map<String, String> shardOfPath)
+      throws IOException {
+    String base = baseName(output);
+    Path shardRoot = output.resolveSibling(base);
+    Path pathsDir = shardRoot.resolve(PATHS_DIR);
+    Files.createDirectories(pathsDir);
+    String componentsFile = COMPONENTS_FILE + extension;
+
+    Map<String, Paths> shards = new LinkedHashMap<>();
+    Map<String, String> fileOfShard = new LinkedHashMap<>();
+    Set<String> usedFiles = new HashSet<>();
+    ObjectNode rootPaths = mapper.createObjectNode();
+    if (document.getPaths() != null) {
+      for (Map.Entry<String, PathItem> entry : document.getPaths().entrySet()) {
+        String shard = shardOfPath.getOrDefault(entry.getKey(), "root");
+        String file =
+            fileOfShard.computeIfAbsent(shard, key -> uniqueFileName(key, usedFiles) + extension);
+        shards
+            .computeIfAbsent(shard, key -> new Paths())
+            .addPathItem(entry.getKey(), entry.getValue());
+        String shardPath = base + "/" + PATHS_DIR + "/" + file;
+        rootPaths
+            .putObject(entry.getKey())
+            .put("$ref", shardPath + "#/paths/" + pointer(entry.getKey()));
+      }
+    }
+
+    List<Callable<Boolean>> jobs = new ArrayList<>();
+    jobs.add(() -> writeIfChanged(output, rootTree(document, rootPaths)));
+    jobs.add(() -> writeIfChanged(shardRoot.resolve(componentsFile), componentsTree(document)));
+    shards.forEach(
+        (shard, paths) ->
+            jobs.add(
+                () ->
+                    writeIfChanged(
+                        pathsDir.resolve(fileOfShard.get(shard)),
+                        shardTree(document, paths, "../" + componentsFile))));
+    int written = runAll(jobs);
+    int removed = removeStale(pathsDir, new HashSet<>(fileOfShard.values()));
+    LOGGER.info(
+        "Wrote {} of {} sharded files ({} unchanged, {} stale shards removed)",
+        written,
+        jobs.size(),
+        jobs.size() - written,
+        removed);
+  }
+
+  private JsonNode rootTree(OpenAPI document, ObjectNode rootPaths) {
+    OpenAPI root = new OpenAPI();
+    root.setOpenapi(document.getOpenapi());
+    root.setInfo(document.getInfo());
+    root.setServers(document.getServers());
+    root.setExtensions(document.getExtensions());
+    ObjectNode tree = mapper.valueToTree(root);
+    tree.set("paths", rootPaths);
+    return tree;
+  }
+
+  private JsonNode componentsTree(OpenAPI document) {
+    OpenAPI components = new OpenAPI();
+    components.setOpenapi(document.getOpenapi());
+    components.setInfo(document.getInfo());
+    components.setPaths(new Paths());
+    components.setComponents(document.getComponents());
+    return mapper.valueToTree(components);
+  }
+
+  private JsonNode shardTree(OpenAPI document, Paths paths, String componentsFile) {
+    OpenAPI shard = new OpenAPI();
+    shard.setOpenapi(document.getOpenapi());
+    shard.setInfo(document.getInfo());
+    shard.setPaths(paths);
+    JsonNode tree = mapper.valueToTree(shard);
+    relocateRefs(tree, componentsFile + "#" + SchemaRefs.COMPONENT_PREFIX.substring(1));
+    return tree;
+  }
+
+  /** Points local component refs at the shared file; done on the tree so the model stays intact. */
+  private static void relocateRefs(JsonNode node, String prefix) {
+    if (node instanceof ObjectNode object) {
+      JsonNode ref = object.get("$ref");
+      if (ref != null && ref.isTextual()) {
+        String target = SchemaRefs.componentName(ref.textValue());
+        if (target != null) {
+          object.set("$ref", TextNode.valueOf(prefix + target));
+        }
+      }
+    }
+    for (JsonNode child : node) {
+      relocateRefs(child, prefix);
+    }
+  }
+
+  private boolean writeIfChanged(Path file, JsonNode tree) throws IOException {
+    ExtractorEvents.OutputWritten event = new ExtractorEvents.OutputWritten();
+    event.begin();
+    boolean changed =
+        context
+            .trace()
+            .call("write", file.getFileName().toString(), file.toString(), () -> write(file, tree));
+    event.end();
+    if (event.shouldCommit()) {
+      event.path = file.toString();
+      event.format = format.id();
+      event.bytes = Files.size(file);
+      event.changed = changed;
+      event.commit();
+    }
+    return changed;
+  }
+
+  private boolean write(Path file, JsonNode tree) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    writer.writeValue(buffer, tree);
+    byte[] bytes = buffer.toByteArray();
+    boolean changed = !Files.exists(file) || !mapper.readTree(bytes).equals(readExisting(file));
+    if (changed) {
+      try (OutputStream out =
+          compression.wrap(
+              new BufferedOutputStream(
+                  metrics.countBytes(Files.newOutputStream(file)), BUFFER_SIZE))) {
+        out.write(bytes);
+      }
+    }
+    return changed;
+  }
+
+  private JsonNode readExisting(Path file) {
+    try (InputStream in =
+        compression.unwrap(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+      return mapper.readTree(in);
+    } catch (IOException ex) {
+      LOGGER.debug("Rewriting unreadable shard {}: {}", file, ex.getMessage());
+      return null;
+    }
+  }
+
+  private int runAll(List<Callable<Boolean>> jobs) throws IOException {
+    int threads = Math.max(1, Math.min(jobs.size(), Runtime.getRuntime().availableProcessors()));
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "extractor-shard-writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      int written = 0;
+      for (Future<Boolean> future : executor.invokeAll(jobs)) {
+        if (future.get()) {
+          written++;
+        }
+      }
+      return written;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing shards", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException io) {
+        throw io;
+      }
+      throw new IOException("Failed to write shard", ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private int removeStale(Path pathsDir, Set<String> current) throws IOException {
+    List<Path> stale = new ArrayList<>();
+    try (Stream<Path> files = Files.list(pathsDir)) {
+      Iterator<Path> iterator = files.iterator();
+      while (iterator.hasNext()) {
+        Path file = iterator.next();
+        String name = file.getFileName().toString();
+        if (name.endsWith(extension) && !current.contains(name)) {
+          stale.add(file);
+        }
+      }
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+    for (Path file : stale) {
+      Files.delete(file);
+      LOGGER.debug("Removed stale shard {}", file);
+    }
+    return stale.size();
+  }
+
+  private static String uniqueFileName(String shard, Set<String> used) {
+    String name = shard.replaceAll("[^A-Za-z0-9._-]+", "_");
+    if (name.isEmpty() || name.equals("_")) {
+      name = "root";
+    }
+    String candidate = name;
+    for (int i = 2; !used.add(candidate); i++) {
+      candidate = name + "_" + i;
+    }
+    return candidate;
+  }
+
+  private static String baseName(Path output) {
+    String name = output.getFileName().toString();
+    int dot = name.indexOf('.');
+    return dot > 0 ? name.substring(0, dot) : name + ".shards";
+  }
+
+  /**
+   * JSON pointer to a path item, as a URI fragment: RFC 6901 escapes first, then percent-encoding
+   * of the UTF-8 bytes not allowed in a fragment, such as the braces of path templates.
+   */
+  private static String pointer(String path) {
+    String escaped = path.replace("~", "~0").replace("/", "~1");
+    StringBuilder fragment = new StringBuilder(escaped.length() + 16);
+    for (byte b : escaped.getBytes(StandardCharsets.UTF_8)) {
+      char c = (char) (b & 0xFF);
+      if ((c >= 'a' && c <= 'z')
+          || (c >= 'A' && c <= 'Z')
+          || (c >= '0' && c <= '9')
+          || "-._~!$&'()*+,;=:@".indexOf(c) >= 0) {
+        fragment.append(c);
+      } else {
+        fragment.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+      }
+    }
+    return fragment.toString();
+  }
+}
@@ -0,0 +1,71 @@
+package com.yourco.extractor;
+
+import java.nio.file.Path;
+
+/**
+ * One slice of the source files for a multi-process scan ({@code --shard i/N}).
+ *
+ * <p>Files are assigned by a hash of their directory relative to the source root, so all classes
+ * of a package, and with them a controller and its siblings, land in the same shard on every
+ * machine. Type resolution still sees every source file; only endpoint extraction is split.
+ */
+public final class SourceShard {
+
+  public static final SourceShard ALL = new SourceShard(1, 1);
+
+  private final int index;
+  private final int count;
+
+  public SourceShard(int index, int count) {
+    if (count < 1 || index < 1 || index > count) {
+      throw new IllegalArgumentException(
+          "Invalid shard " + index + "/" + count + " (expected 1 <= i <= N)");
+    }
+    this.index = index;
+    this.count = count;
+  }
+
+  /** Parses {@code i/N} with a 1-based index, for example {@code 2/4}. */
+  public static SourceShard parse(String value) {
+    String normalized = value == null ? "" : value.trim();
+    int slash = normalized.indexOf('/');
+    if (slash > 0) {
+      try {
+        return new SourceShard(
+            Integer.parseInt(normalized.substring(0, slash)),
+            Integer.parseInt(normalized.substring(slash + 1)));
+      } catch (NumberFormatException ex) {
+        // reported below
+      }
+    }
+    throw new IllegalArgumentException(
+        "Unsupported shard '" + value + "' (expected i/N, for example 2/4)");
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public boolean isAll() {
+    return count == 1;
+  }
+
+  /** Whether this shard scans {@code relative}, a source file path relative to its source root. */
+  public boolean includes(Path relative) {
+    if (count == 1) {
+      return true;
+    }
+    Path parent = relative.getParent();
+    String directory = parent == null ? "" : parent.toString().replace('\\', '/');
+    return Math.floorMod(directory.hashCode(), count) == index - 1;
+  }
+
+  @Override
+  public String toString() {
+    return index + "/" + count;
+  }
+}
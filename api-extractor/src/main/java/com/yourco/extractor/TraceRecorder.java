@@ -0,0 +1,153 @@
+package com.yourco.extractor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records spans per thread and writes them as a Chrome trace-event file ({@code --trace-out}),
+ * which loads in {@code chrome://tracing} or Perfetto.
+ *
+ * <p>Every span becomes a complete ({@code "X"}) event on the thread that opened it; nesting is
+ * implied by timestamps. A disabled recorder hands out a shared no-op span, so call sites do not
+ * need to check whether tracing is on.
+ */
+public final class TraceRecorder {
+
+  private static final TraceRecorder DISABLED = new TraceRecorder(false);
+  private static final Span NOOP = () -> {};
+  private static final int PROCESS_ID = 1;
+
+  /** An open span; closing it records the event. */
+  public interface Span extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private record TraceEvent(
+      String category, String name, String detail, long threadId, long startNanos, long nanos) {}
+
+  private final boolean enabled;
+  private final long originNanos = System.nanoTime();
+  private final Queue<TraceEvent> events = new ConcurrentLinkedQueue<>();
+  private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+
+  public TraceRecorder() {
+    this(true);
+  }
+
+  private TraceRecorder(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public static TraceRecorder disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public Span span(String category, String name) {
+    return span(category, name, null);
+  }
+
+  /** Runs {@code step} inside a span; see {@link #span(String, String, String)}. */
+  public <T, E extends Exception> T call(
+      String category, String name, String detail, RunContext.Step<T, E> step) throws E {
+    Span span = span(category, name, detail);
+    try {
+      return step.call();
+    } finally {
+      span.close();
+    }
+  }
+
+  public <T, E extends Exception> T call(String category, String name, RunContext.Step<T, E> step)
+      throws E {
+    return call(category, name, null, step);
+  }
+
+  public <E extends Exception> void run(String category, String name, RunContext.Action<E> action)
+      throws E {
+    Span span = span(category, name, null);
+    try {
+      action.run();
+    } finally {
+      span.close();
+    }
+  }
+
+  /** Opens a span; {@code detail} is shown in the viewer's argument pane when not null. */
+  public Span span(String category, String name, String detail) {
+    if (!enabled) {
+      return NOOP;
+    }
+    Thread thread = Thread.currentThread();
+    long threadId = thread.getId();
+    threadNames.putIfAbsent(threadId, thread.getName());
+    long start = System.nanoTime();
+    return () ->
+        events.add(
+            new TraceEvent(
+                category, name, detail, threadId, start - originNanos, System.nanoTime() - start));
+  }
+
+  public void write(Path file) throws IOException {
+    List<TraceEvent> sorted = new ArrayList<>(events);
+    sorted.sort(Comparator.comparingLong(TraceEvent::startNanos));
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+        JsonGenerator generator = new JsonFactory().createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeStringField("displayTimeUnit", "ms");
+      generator.writeArrayFieldStart("traceEvents");
+      writeMetadata(generator, "process_name", 0, "api-extractor");
+      for (Map.Entry<Long, String> thread : new TreeMap<>(threadNames).entrySet()) {
+        writeMetadata(generator, "thread_name", thread.getKey(), thread.getValue());
+      }
+      for (TraceEvent event : sorted) {
+        generator.writeStartObject();
+        generator.writeStringField("name", event.name());
+        generator.writeStringField("cat", event.category());
+        generator.writeStringField("ph", "X");
+        generator.writeNumberField("ts", event.startNanos() / 1000.0);
+        generator.writeNumberField("dur", event.nanos() / 1000.0);
+        generator.writeNumberField("pid", PROCESS_ID);
+        generator.writeNumberField("tid", event.threadId());
+        if (event.detail() != null) {
+          generator.writeObjectFieldStart("args");
+          generator.writeStringField("detail", event.detail());
+          generator.writeEndObject();
+        }
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  private static void writeMetadata(
+      JsonGenerator generator, String kind, long threadId, String name) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", kind);
+    generator.writeStringField("ph", "M");
+    generator.writeNumberField("pid", PROCESS_ID);
+    generator.writeNumberField("tid", threadId);
+    generator.writeObjectFieldStart("args");
+    generator.writeStringField("name", name);
+    generator.writeEndObject();
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,69 @@
+package com.yourco.extractor.diff;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.yourco.extractor.diff.SpecDiff.Change;
+import com.yourco.extractor.diff.SpecDiff.Severity;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+@Command(
+    name = "diff",
+    mixinStandardHelpOptions = true,
+    description = "Compare a generated document against a baseline (OpenAPI 3 or YApi Swagger 2)")
+public class DiffCommand implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DiffCommand.class);
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  @Parameters(index = "0", description = "Baseline document")
+  Path baseline;
+
+  @Parameters(index = "1", description = "Candidate document")
+  Path candidate;
+
+  @Option(names = "--report", description = "Write the changes as JSON to this file")
+  Path report;
+
+  @Option(names = "--fail-on-breaking", description = "Exit with code 1 on breaking changes")
+  boolean failOnBreaking;
+
+  @Override
+  public Integer call() throws Exception {
+    List<Change> changes = SpecDiff.compare(baseline, candidate);
+    long breaking =
+        changes.stream().filter(change -> change.severity() == Severity.BREAKING).count();
+    for (Change change : changes) {
+      System.out.printf("%-12s %s: %s%n", change.severity(), change.location(), change.message());
+    }
+    System.out.printf(
+        "%d changes (%d breaking, %d non-breaking)%n",
+        changes.size(), breaking, changes.size() - breaking);
+    if (report != null) {
+      ObjectNode root = MAPPER.createObjectNode();
+      root.put("baseline", baseline.toString());
+      root.put("candidate", candidate.toString());
+      root.put("breaking", breaking);
+      ArrayNode entries = root.putArray("changes");
+      for (Change change : changes) {
+        entries
+            .addObject()
+            .put("severity", change.severity().name())
+            .put("location", change.location())
+            .put("message", change.message());
+      }
+      MAPPER.writeValue(report.toFile(), root);
+      LOGGER.info("Diff report written to {}", report);
+    }
+    return failOnBreaking && breaking > 0 ? 1 : 0;
+  }
+}
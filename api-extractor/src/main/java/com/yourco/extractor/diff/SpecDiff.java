@@ -0,0 +1,444 @@
+package com.yourco.extractor.diff;
+
+import com.yourco.extractor.diff.SpecReader.BodySummary;
+import com.yourco.extractor.diff.SpecReader.OperationKey;
+import com.yourco.extractor.diff.SpecReader.OperationSummary;
+import com.yourco.extractor.diff.SpecReader.ParamSummary;
+import com.yourco.extractor.diff.SpecReader.SchemaSummary;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Structural diff between a baseline document and a candidate.
+ *
+ * <p>Both documents are streamed into summaries: operations indexed by (method, path) and
+ * component schemas by name. Components are then paired by equal name, by equal simple name (YApi's
+ * {@code UserDto} and the extractor's {@code com_shop_users_UserDto}) and finally by an identical
+ * set of property names or enum values, each step only where the key is unique on both sides.
+ *
+ * <p>Schemas are compared recursively, so changes inside inline objects and arrays are reported
+ * with their property path. A {@code $ref} resolves into the components of its own document; a ref
+ * between paired components is not followed, since the pair's own comparison reports those changes
+ * once, and a visited set of ref pairs stops recursive types.
+ */
+public final class SpecDiff {
+
+  private static final Pattern NAME_SEPARATOR = Pattern.compile("[^A-Za-z0-9]+");
+
+  public enum Severity {
+    BREAKING,
+    NON_BREAKING
+  }
+
+  public record Change(Severity severity, String location, String message) {}
+
+  private final Map<String, Operation> operations = new LinkedHashMap<>();
+  private final List<Operation> candidates = new ArrayList<>();
+  private final Map<String, SchemaSummary> baselineComponents = new LinkedHashMap<>();
+  private final Map<String, SchemaSummary> candidateComponents = new LinkedHashMap<>();
+  /** Baseline component name to the candidate component paired with it. */
+  private final Map<String, String> pairs = new HashMap<>();
+  private final Set<Change> changes = new LinkedHashSet<>();
+
+  private record Operation(OperationKey key, OperationSummary summary) {}
+
+  private SpecDiff() {}
+
+  public static List<Change> compare(Path baseline, Path candidate) throws IOException {
+    SpecDiff diff = new SpecDiff();
+    SpecReader.read(
+        baseline,
+        new SpecReader.Visitor() {
+          @Override
+          public void operation(OperationKey key, OperationSummary operation) {
+            diff.operations.putIfAbsent(key.matchKey(), new Operation(key, operation));
+          }
+
+          @Override
+          public void component(String name, SchemaSummary component) {
+            diff.baselineComponents.putIfAbsent(name, component);
+          }
+        });
+    SpecReader.read(
+        candidate,
+        new SpecReader.Visitor() {
+          @Override
+          public void operation(OperationKey key, OperationSummary operation) {
+            diff.candidates.add(new Operation(key, operation));
+          }
+
+          @Override
+          public void component(String name, SchemaSummary component) {
+            diff.candidateComponents.putIfAbsent(name, component);
+          }
+        });
+    diff.pairComponents();
+    for (Operation operation : diff.candidates) {
+      diff.compareOperation(operation.key(), operation.summary());
+    }
+    for (Operation removed : diff.operations.values()) {
+      diff.breaking(removed.key().toString(), "operation removed");
+    }
+    diff.compareComponents();
+    return new ArrayList<>(diff.changes);
+  }
+
+  private void pairComponents() {
+    for (String name : baselineComponents.keySet()) {
+      if (candidateComponents.containsKey(name)) {
+        pairs.put(name, name);
+      }
+    }
+    pairUnique((name, schema) -> simpleName(name));
+    pairUnique((name, schema) -> fingerprint(schema));
+  }
+
+  /** Pairs the components left over whose key is unique on both sides. */
+  private void pairUnique(BiFunction<String, SchemaSummary, String> keyOf) {
+    Map<String, List<String>> before = unpaired(baselineComponents, pairs.keySet(), keyOf);
+    Map<String, List<String>> after =
+        unpaired(candidateComponents, new HashSet<>(pairs.values()), keyOf);
+    before.forEach(
+        (key, names) -> {
+          List<String> matches = after.get(key);
+          if (names.size() == 1 && matches != null && matches.size() == 1) {
+            pairs.put(names.get(0), matches.get(0));
+          }
+        });
+  }
+
+  private static Map<String, List<String>> unpaired(
+      Map<String, SchemaSummary> components,
+      Set<String> paired,
+      BiFunction<String, SchemaSummary, String> keyOf) {
+    Map<String, List<String>> byKey = new LinkedHashMap<>();
+    components.forEach(
+        (name, schema) -> {
+          String key = paired.contains(name) ? null : keyOf.apply(name, schema);
+          if (key != null) {
+            byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(name);
+          }
+        });
+    return byKey;
+  }
+
+  /**
+   * The name without its leading lower-case package segments and with generic punctuation
+   * unified, so {@code com_box_common_Box_ADto_} and {@code Box<ADto>} both become {@code
+   * Box_ADto}.
+   */
+  static String simpleName(String name) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : NAME_SEPARATOR.split(name)) {
+      if (!segment.isEmpty()) {
+        segments.add(segment);
+      }
+    }
+    int start = 0;
+    while (start < segments.size() - 1 && Character.isLowerCase(segments.get(start).charAt(0))) {
+      start++;
+    }
+    return segments.isEmpty() ? null : String.join("_", segments.subList(start, segments.size()));
+  }
+
+  private static String fingerprint(SchemaSummary schema) {
+    if (schema.properties().isEmpty() && schema.enumValues().isEmpty()) {
+      return null;
+    }
+    return schema.type()
+        + new TreeSet<>(schema.properties().keySet())
+        + new TreeSet<>(schema.enumValues());
+  }
+
+  private void compareOperation(OperationKey key, OperationSummary candidate) {
+    Operation baseline = operations.remove(key.matchKey());
+    String location = key.toString();
+    if (baseline == null) {
+      nonBreaking(location, "operation added");
+      return;
+    }
+    compareParameters(location, baseline.summary().parameters(), candidate.parameters());
+    compareRequestBody(location, baseline.summary().requestBody(), candidate.requestBody());
+    compareResponses(location, baseline.summary().responses(), candidate.responses());
+  }
+
+  private void compareParameters(
+      String location, Map<String, ParamSummary> before, Map<String, ParamSummary> after) {
+    Map<String, ParamSummary> remaining = new LinkedHashMap<>(before);
+    for (Map.Entry<String, ParamSummary> entry : after.entrySet()) {
+      String name = entry.getKey();
+      ParamSummary current = entry.getValue();
+      ParamSummary previous = remaining.remove(name);
+      if (previous == null) {
+        if (current.required()) {
+          breaking(location, "required parameter " + name + " added");
+        } else {
+          nonBreaking(location, "optional parameter " + name + " added");
+        }
+        continue;
+      }
+      if (!previous.required() && current.required()) {
+        breaking(location, "parameter " + name + " became required");
+      } else if (previous.required() && !current.required()) {
+        nonBreaking(location, "parameter " + name + " became optional");
+      }
+      compareSchema(location, "parameter " + name, previous.schema(), current.schema());
+    }
+    remaining.keySet().forEach(name -> breaking(location, "parameter " + name + " removed"));
+  }
+
+  private void compareRequestBody(String location, BodySummary before, BodySummary after) {
+    if (before == null && after == null) {
+      return;
+    }
+    if (before == null) {
+      if (after.required()) {
+        breaking(location, "required request body added");
+      } else {
+        nonBreaking(location, "optional request body added");
+      }
+      return;
+    }
+    if (after == null) {
+      breaking(location, "request body removed");
+      return;
+    }
+    if (!before.required() && after.required()) {
+      breaking(location, "request body became required");
+    }
+    compareMedia(location, "request body", before.media(), after.media());
+  }
+
+  private void compareResponses(
+      String location,
+      Map<String, Map<String, SchemaSummary>> before,
+      Map<String, Map<String, SchemaSummary>> after) {
+    for (Map.Entry<String, Map<String, SchemaSummary>> entry : after.entrySet()) {
+      Map<String, SchemaSummary> previous = before.get(entry.getKey());
+      if (previous == null) {
+        nonBreaking(location, "response " + entry.getKey() + " added");
+      } else {
+        compareMedia(location, "response " + entry.getKey(), previous, entry.getValue());
+      }
+    }
+    for (String code : before.keySet()) {
+      if (!after.containsKey(code)) {
+        breaking(location, "response " + code + " removed");
+      }
+    }
+  }
+
+  /**
+   * Compares schemas per media type. A Swagger 2 side has no media types, so its single schema is
+   * compared against every media type of the other side instead.
+   */
+  private void compareMedia(
+      String location,
+      String subject,
+      Map<String, SchemaSummary> before,
+      Map<String, SchemaSummary> after) {
+    if (before.containsKey(SpecReader.ANY_MEDIA) || after.containsKey(SpecReader.ANY_MEDIA)) {
+      for (SchemaSummary previous : before.values()) {
+        for (SchemaSummary current : after.values()) {
+          compareSchema(location, subject, previous, current);
+        }
+      }
+      return;
+    }
+    for (Map.Entry<String, SchemaSummary> entry : after.entrySet()) {
+      SchemaSummary previous = before.get(entry.getKey());
+      if (previous == null) {
+        nonBreaking(location, subject + " media type " + entry.getKey() + " added");
+      } else {
+        compareSchema(location, subject + " " + entry.getKey(), previous, entry.getValue());
+      }
+    }
+    for (String media : before.keySet()) {
+      if (!after.containsKey(media)) {
+        breaking(location, subject + " media type " + media + " removed");
+      }
+    }
+  }
+
+  private void compareComponents() {
+    Map<String, String> baselineNames = new HashMap<>();
+    pairs.forEach((baseline, candidate) -> baselineNames.put(candidate, baseline));
+    candidateComponents.forEach(
+        (name, candidate) -> {
+          String baseline = baselineNames.get(name);
+          if (baseline == null) {
+            nonBreaking(name, "component added");
+          } else {
+            Set<String> visited = new HashSet<>();
+            visited.add(baseline + " " + name);
+            compareSchema(name, "", "", baselineComponents.get(baseline), candidate, visited);
+          }
+        });
+    for (String name : baselineComponents.keySet()) {
+      if (!pairs.containsKey(name)) {
+        breaking(name, "component removed");
+      }
+    }
+  }
+
+  private void compareSchema(
+      String location, String subject, SchemaSummary before, SchemaSummary after) {
+    compareSchema(location, subject, "", before, after, new HashSet<>());
+  }
+
+  /**
+   * Compares the schemas at {@code path}, which names the property by dotted segments with
+   * {@code []} for array items and {@code {}} for map values. {@code visited} holds the ref pairs
+   * already compared.
+   */
+  private void compareSchema(
+      String location,
+      String subject,
+      String path,
+      SchemaSummary before,
+      SchemaSummary after,
+      Set<String> visited) {
+    if (before.ref() != null && after.ref() != null) {
+      if (after.ref().equals(pairs.get(before.ref()))
+          || !visited.add(before.ref() + " " + after.ref())) {
+        return;
+      }
+    }
+    SchemaSummary previous = resolve(before, baselineComponents, new HashSet<>());
+    SchemaSummary current = resolve(after, candidateComponents, new HashSet<>());
+    if (!previous.type().equals(current.type())
+        || ("ref".equals(previous.type()) && !previous.ref().equals(current.ref()))) {
+      String change = "type changed: " + before.describe() + " -> " + after.describe();
+      breaking(
+          location, label(subject, path.isEmpty() ? change : "property " + path + " " + change));
+      return;
+    }
+    switch (previous.type()) {
+      case "array" ->
+          compareSchema(
+              location, subject, path + "[]", previous.items(), current.items(), visited);
+      case "map" ->
+          compareSchema(
+              location, subject, path + "{}", previous.items(), current.items(), visited);
+      case "oneOf", "anyOf" -> {
+        int common = Math.min(previous.members().size(), current.members().size());
+        for (int index = 0; index < common; index++) {
+          compareSchema(
+              location,
+              subject,
+              path,
+              previous.members().get(index),
+              current.members().get(index),
+              visited);
+        }
+        if (previous.members().size() != current.members().size()) {
+          String change =
+              previous.type()
+                  + " alternatives changed: "
+                  + previous.members().size()
+                  + " -> "
+                  + current.members().size();
+          breaking(location, label(subject, path.isEmpty() ? change : path + " " + change));
+        }
+      }
+      default -> {}
+    }
+    compareProperties(location, subject, path, previous, current, visited);
+    String of = path.isEmpty() ? "" : " of " + path;
+    for (String value : previous.enumValues()) {
+      if (!current.enumValues().contains(value)) {
+        breaking(location, label(subject, "enum value " + value + of + " removed"));
+      }
+    }
+    for (String value : current.enumValues()) {
+      if (!previous.enumValues().contains(value)) {
+        nonBreaking(location, label(subject, "enum value " + value + of + " added"));
+      }
+    }
+  }
+
+  private void compareProperties(
+      String location,
+      String subject,
+      String path,
+      SchemaSummary before,
+      SchemaSummary after,
+      Set<String> visited) {
+    for (Map.Entry<String, SchemaSummary> property : after.properties().entrySet()) {
+      String name = path.isEmpty() ? property.getKey() : path + "." + property.getKey();
+      SchemaSummary previous = before.properties().get(property.getKey());
+      if (previous == null) {
+        nonBreaking(location, label(subject, "property " + name + " added"));
+      } else {
+        compareSchema(location, subject, name, previous, property.getValue(), visited);
+      }
+    }
+    for (String property : before.properties().keySet()) {
+      if (!after.properties().containsKey(property)) {
+        String name = path.isEmpty() ? property : path + "." + property;
+        breaking(location, label(subject, "property " + name + " removed"));
+      }
+    }
+    for (String property : after.required()) {
+      if (!before.required().contains(property)) {
+        String name = path.isEmpty() ? property : path + "." + property;
+        breaking(location, label(subject, "property " + name + " became required"));
+      }
+    }
+    for (String property : before.required()) {
+      if (!after.required().contains(property)) {
+        String name = path.isEmpty() ? property : path + "." + property;
+        nonBreaking(location, label(subject, "property " + name + " became optional"));
+      }
+    }
+  }
+
+  /**
+   * Follows refs into {@code components} and flattens {@code allOf} into one object holding the
+   * properties of all its members. A ref to a missing component stays a ref.
+   */
+  private static SchemaSummary resolve(
+      SchemaSummary schema, Map<String, SchemaSummary> components, Set<String> seen) {
+    SchemaSummary resolved = schema;
+    while (resolved.ref() != null
+        && components.containsKey(resolved.ref())
+        && seen.add(resolved.ref())) {
+      resolved = components.get(resolved.ref());
+    }
+    if (!"allOf".equals(resolved.type())) {
+      return resolved;
+    }
+    Map<String, SchemaSummary> properties = new LinkedHashMap<>(resolved.properties());
+    Set<String> required = new LinkedHashSet<>(resolved.required());
+    for (SchemaSummary member : resolved.members()) {
+      SchemaSummary flattened = resolve(member, components, seen);
+      properties.putAll(flattened.properties());
+      required.addAll(flattened.required());
+    }
+    return new SchemaSummary(
+        "object", null, null, properties, required, resolved.enumValues(), List.of());
+  }
+
+  private static String label(String subject, String change) {
+    return subject.isEmpty() ? change : subject + " " + change;
+  }
+
+  private void breaking(String location, String message) {
+    changes.add(new Change(Severity.BREAKING, location, message));
+  }
+
+  private void nonBreaking(String location, String message) {
+    changes.add(new Change(Severity.NON_BREAKING, location, message));
+  }
+}
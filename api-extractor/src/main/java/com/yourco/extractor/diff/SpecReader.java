@@ -0,0 +1,299 @@
+package com.yourco.extractor.diff;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yourco.extractor.Documents;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams an OpenAPI 3 or Swagger 2 (YApi export) document and reports each operation and
+ * component schema as a compact summary.
+ *
+ * <p>Schemas are summarized structurally: types, properties, required names and enum values,
+ * recursively through inline objects and arrays. A {@code $ref} is kept as the name of its target
+ * component, which {@link SpecDiff} resolves once both documents are read.
+ *
+ * <p>Only one path item or component is materialized at a time, so memory is bounded by the
+ * summaries the caller keeps rather than by the document size. JSON and YAML are supported, either
+ * optionally gzip-compressed ({@code .gz}).
+ */
+public final class SpecReader {
+
+  private static final Set<String> METHODS =
+      Set.of("get", "put", "post", "delete", "options", "head", "patch", "trace");
+  private static final Pattern PATH_VARIABLE = Pattern.compile("\\{([^}]*)}");
+  /** Media type key used for Swagger 2 bodies, which do not declare one per schema. */
+  static final String ANY_MEDIA = "*";
+
+  public interface Visitor {
+    void operation(OperationKey key, OperationSummary operation);
+
+    void component(String name, SchemaSummary component);
+  }
+
+  /** Operations match on method and path with path variable names erased. */
+  public record OperationKey(String method, String path) {
+    public String normalizedPath() {
+      return PATH_VARIABLE.matcher(path).replaceAll("{}");
+    }
+
+    public String matchKey() {
+      return method + " " + normalizedPath();
+    }
+
+    @Override
+    public String toString() {
+      return method.toUpperCase(Locale.ROOT) + " " + path;
+    }
+  }
+
+  public record ParamSummary(boolean required, SchemaSummary schema) {}
+
+  public record BodySummary(boolean required, Map<String, SchemaSummary> media) {}
+
+  public record OperationSummary(
+      Map<String, ParamSummary> parameters,
+      BodySummary requestBody,
+      Map<String, Map<String, SchemaSummary>> responses) {}
+
+  /**
+   * The shape of a schema. {@code type} is {@code ref} (with the component name in {@code ref}),
+   * {@code array} or {@code map} (with {@code items} holding the element or value schema),
+   * {@code object}, {@code allOf}, {@code oneOf} or {@code anyOf} (with {@code members}), a scalar
+   * type with its format such as {@code string(date-time)}, or {@code any}.
+   */
+  public record SchemaSummary(
+      String type,
+      String ref,
+      SchemaSummary items,
+      Map<String, SchemaSummary> properties,
+      Set<String> required,
+      Set<String> enumValues,
+      List<SchemaSummary> members) {
+
+    static final SchemaSummary ANY =
+        new SchemaSummary("any", null, null, Map.of(), Set.of(), Set.of(), List.of());
+
+    static SchemaSummary ref(String name) {
+      return new SchemaSummary("ref", name, null, Map.of(), Set.of(), Set.of(), List.of());
+    }
+
+    /** A one-line shape for messages: a component name, a scalar type or a container of either. */
+    public String describe() {
+      return switch (type) {
+        case "ref" -> "ref:" + ref;
+        case "array" -> "array<" + items.describe() + ">";
+        case "map" -> "map<" + items.describe() + ">";
+        default -> type;
+      };
+    }
+  }
+
+  private SpecReader() {}
+
+  public static void read(Path file, Visitor visitor) throws IOException {
+    try (JsonParser parser = Documents.openParser(file)) {
+      readDocument(parser, visitor);
+    }
+  }
+
+  private static void readDocument(JsonParser parser, Visitor visitor) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Expected an OpenAPI document object");
+    }
+    String basePath = "";
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (field.equals("basePath") && value == JsonToken.VALUE_STRING) {
+        basePath = trimSlash(parser.getText());
+      } else if (field.equals("paths") && value == JsonToken.START_OBJECT) {
+        readPaths(parser, basePath, visitor);
+      } else if (field.equals("definitions") && value == JsonToken.START_OBJECT) {
+        readSchemas(parser, visitor);
+      } else if (field.equals("components") && value == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String section = parser.currentName();
+          if (parser.nextToken() == JsonToken.START_OBJECT && section.equals("schemas")) {
+            readSchemas(parser, visitor);
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  /** {@code basePath} is applied when it precedes {@code paths}, which is how YApi writes it. */
+  private static void readPaths(JsonParser parser, String basePath, Visitor visitor)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String path = basePath + parser.currentName();
+      parser.nextToken();
+      JsonNode pathItem = parser.readValueAsTree();
+      if (pathItem == null || !pathItem.isObject()) {
+        continue;
+      }
+      List<JsonNode> shared = new ArrayList<>();
+      pathItem.path("parameters").forEach(shared::add);
+      Iterator<Map.Entry<String, JsonNode>> fields = pathItem.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> entry = fields.next();
+        String method = entry.getKey().toLowerCase(Locale.ROOT);
+        if (METHODS.contains(method) && entry.getValue().isObject()) {
+          visitor.operation(
+              new OperationKey(method, path), summarizeOperation(path, entry.getValue(), shared));
+        }
+      }
+    }
+  }
+
+  private static void readSchemas(JsonParser parser, Visitor visitor) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      JsonNode schema = parser.readValueAsTree();
+      if (schema != null && schema.isObject()) {
+        visitor.component(name, summarize(schema));
+      }
+    }
+  }
+
+  private static OperationSummary summarizeOperation(
+      String path, JsonNode operation, List<JsonNode> shared) {
+    List<String> variables = new ArrayList<>();
+    Matcher matcher = PATH_VARIABLE.matcher(path);
+    while (matcher.find()) {
+      variables.add(matcher.group(1));
+    }
+    Map<String, ParamSummary> parameters = new LinkedHashMap<>();
+    BodySummary body = null;
+    List<JsonNode> all = new ArrayList<>(shared);
+    operation.path("parameters").forEach(all::add);
+    for (JsonNode parameter : all) {
+      String in = text(parameter, "in");
+      if ("body".equals(in)) {
+        body =
+            new BodySummary(
+                parameter.path("required").asBoolean(false),
+                Map.of(ANY_MEDIA, summarize(parameter.path("schema"))));
+        continue;
+      }
+      JsonNode schema = parameter.has("schema") ? parameter.get("schema") : parameter;
+      String name = text(parameter, "name");
+      // Path variables are matched by position, since their names are erased from the key.
+      if ("path".equals(in) && variables.contains(name)) {
+        name = "#" + (variables.indexOf(name) + 1);
+      }
+      parameters.put(
+          in + ":" + name,
+          new ParamSummary(parameter.path("required").asBoolean(false), summarize(schema)));
+    }
+    JsonNode requestBody = operation.path("requestBody");
+    if (requestBody.isObject()) {
+      body = new BodySummary(requestBody.path("required").asBoolean(false), media(requestBody));
+    }
+    Map<String, Map<String, SchemaSummary>> responses = new LinkedHashMap<>();
+    Iterator<Map.Entry<String, JsonNode>> codes = operation.path("responses").fields();
+    while (codes.hasNext()) {
+      Map.Entry<String, JsonNode> code = codes.next();
+      responses.put(code.getKey(), media(code.getValue()));
+    }
+    return new OperationSummary(parameters, body, responses);
+  }
+
+  private static Map<String, SchemaSummary> media(JsonNode holder) {
+    Map<String, SchemaSummary> media = new LinkedHashMap<>();
+    JsonNode content = holder.path("content");
+    if (content.isObject()) {
+      Iterator<Map.Entry<String, JsonNode>> types = content.fields();
+      while (types.hasNext()) {
+        Map.Entry<String, JsonNode> type = types.next();
+        media.put(type.getKey(), summarize(type.getValue().path("schema")));
+      }
+    } else if (holder.has("schema")) {
+      media.put(ANY_MEDIA, summarize(holder.get("schema")));
+    }
+    return media;
+  }
+
+  static SchemaSummary summarize(JsonNode schema) {
+    if (schema == null || !schema.isObject()) {
+      return SchemaSummary.ANY;
+    }
+    String ref = text(schema, "$ref");
+    if (ref != null) {
+      return SchemaSummary.ref(ref.substring(ref.lastIndexOf('/') + 1));
+    }
+    Map<String, SchemaSummary> properties = new LinkedHashMap<>();
+    Iterator<Map.Entry<String, JsonNode>> fields = schema.path("properties").fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      properties.put(field.getKey(), summarize(field.getValue()));
+    }
+    Set<String> required = new LinkedHashSet<>();
+    schema.path("required").forEach(name -> required.add(name.asText()));
+    Set<String> enumValues = new LinkedHashSet<>();
+    schema.path("enum").forEach(value -> enumValues.add(value.asText()));
+    String type = text(schema, "type");
+    SchemaSummary items = null;
+    List<SchemaSummary> members = new ArrayList<>();
+    String composition = compositionOf(schema);
+    if (composition != null) {
+      type = composition;
+      schema.get(composition).forEach(member -> members.add(summarize(member)));
+    } else if ("array".equals(type)) {
+      items = summarize(schema.get("items"));
+    } else if (properties.isEmpty() && schema.path("additionalProperties").isObject()) {
+      type = "map";
+      items = summarize(schema.get("additionalProperties"));
+    } else if (type == null || "object".equals(type)) {
+      type = properties.isEmpty() && type == null ? "any" : "object";
+    } else {
+      String format = text(schema, "format");
+      type = format != null ? type + "(" + format + ")" : type;
+    }
+    return new SchemaSummary(type, null, items, properties, required, enumValues, members);
+  }
+
+  private static String compositionOf(JsonNode schema) {
+    for (String composition : List.of("allOf", "oneOf", "anyOf")) {
+      if (hasElements(schema, composition)) {
+        return composition;
+      }
+    }
+    return null;
+  }
+
+  private static boolean hasElements(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value != null && value.isArray() && !value.isEmpty();
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static String trimSlash(String basePath) {
+    String trimmed = basePath.trim();
+    while (trimmed.endsWith("/")) {
+      trimmed = trimmed.substring(0, trimmed.length() - 1);
+    }
+    return trimmed;
+  }
+}
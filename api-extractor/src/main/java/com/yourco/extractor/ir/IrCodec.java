@@ -0,0 +1,839 @@
+package com.yourco.extractor.ir;
+
+import com.yourco.extractor.SourceShard;
+import com.yourco.extractor.model.ParameterLocation;
+import io.swagger.v3.oas.models.ExternalDocumentation;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.media.Discriminator;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.XML;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary form of a {@link ScanResult}, so scanning and rendering can run as separate steps.
+ *
+ * <p>A file starts with the magic {@code APIR} and a format version, followed by a deflated body.
+ * Strings are interned: the first occurrence is written inline and later ones as an index into
+ * the strings seen so far. Schemas are written once and then referenced by identity, which keeps
+ * shared instances shared and lets recursive graphs round-trip. Readers reject other versions, so
+ * any change to the layout or the field tags must bump {@link #VERSION}.
+ *
+ * <p>Schema fields without a tag (most of them OpenAPI 3.1 only) are not dropped: writing a schema
+ * that sets one fails, naming the field.
+ */
+public final class IrCodec {
+
+  public static final int VERSION = 2;
+
+  private static final byte[] MAGIC = {'A', 'P', 'I', 'R'};
+  private static final String SCHEMA_PACKAGE = Schema.class.getPackageName() + ".";
+
+  private static final int END = 0;
+  private static final int TITLE = 1;
+  private static final int DESCRIPTION = 2;
+  private static final int TYPE = 3;
+  private static final int TYPES = 4;
+  private static final int FORMAT = 5;
+  private static final int REF = 6;
+  private static final int REQUIRED = 7;
+  private static final int ENUM = 8;
+  private static final int DEFAULT = 9;
+  private static final int EXAMPLE = 10;
+  private static final int NULLABLE = 11;
+  private static final int READ_ONLY = 12;
+  private static final int WRITE_ONLY = 13;
+  private static final int DEPRECATED = 14;
+  private static final int MULTIPLE_OF = 15;
+  private static final int MAXIMUM = 16;
+  private static final int EXCLUSIVE_MAXIMUM = 17;
+  private static final int MINIMUM = 18;
+  private static final int EXCLUSIVE_MINIMUM = 19;
+  private static final int MAX_LENGTH = 20;
+  private static final int MIN_LENGTH = 21;
+  private static final int PATTERN = 22;
+  private static final int MAX_ITEMS = 23;
+  private static final int MIN_ITEMS = 24;
+  private static final int UNIQUE_ITEMS = 25;
+  private static final int MAX_PROPERTIES = 26;
+  private static final int MIN_PROPERTIES = 27;
+  private static final int PROPERTIES = 28;
+  private static final int ADDITIONAL_SCHEMA = 29;
+  private static final int ADDITIONAL_BOOLEAN = 30;
+  private static final int ITEMS = 31;
+  private static final int NOT = 32;
+  private static final int ALL_OF = 33;
+  private static final int ANY_OF = 34;
+  private static final int ONE_OF = 35;
+  private static final int DISCRIMINATOR = 36;
+  private static final int EXTERNAL_DOCS = 37;
+  private static final int XML_INFO = 38;
+  private static final int EXTENSIONS = 39;
+
+  private static final int V_NULL = 0;
+  private static final int V_STRING = 1;
+  private static final int V_TRUE = 2;
+  private static final int V_FALSE = 3;
+  private static final int V_INT = 4;
+  private static final int V_LONG = 5;
+  private static final int V_DECIMAL = 6;
+  private static final int V_DOUBLE = 7;
+  private static final int V_LIST = 8;
+  private static final int V_MAP = 9;
+  private static final int V_BIG_INTEGER = 10;
+  private static final int V_FLOAT = 11;
+
+  private static final Set<String> ENCODED_GETTERS =
+      Set.of(
+          "getTitle",
+          "getDescription",
+          "getType",
+          "getTypes",
+          "getFormat",
+          "get$ref",
+          "getRequired",
+          "getEnum",
+          "getDefault",
+          "getExample",
+          "getExampleSetFlag",
+          "getNullable",
+          "getReadOnly",
+          "getWriteOnly",
+          "getDeprecated",
+          "getMultipleOf",
+          "getMaximum",
+          "getExclusiveMaximum",
+          "getMinimum",
+          "getExclusiveMinimum",
+          "getMaxLength",
+          "getMinLength",
+          "getPattern",
+          "getMaxItems",
+          "getMinItems",
+          "getUniqueItems",
+          "getMaxProperties",
+          "getMinProperties",
+          "getProperties",
+          "getAdditionalProperties",
+          "getItems",
+          "getNot",
+          "getAllOf",
+          "getAnyOf",
+          "getOneOf",
+          "getDiscriminator",
+          "getExternalDocs",
+          "getXml",
+          "getExtensions",
+          "getSpecVersion");
+
+  /** Per schema class, the getters of every field the format has no tag for. */
+  private static final ClassValue<List<Method>> UNENCODED_GETTERS =
+      new ClassValue<>() {
+        @Override
+        protected List<Method> computeValue(Class<?> type) {
+          List<Method> getters = new ArrayList<>();
+          for (Method method : type.getMethods()) {
+            if (method.getParameterCount() == 0
+                && !Modifier.isStatic(method.getModifiers())
+                && method.getName().startsWith("get")
+                && Schema.class.isAssignableFrom(method.getDeclaringClass())
+                && !ENCODED_GETTERS.contains(method.getName())) {
+              getters.add(method);
+            }
+          }
+          getters.sort(Comparator.comparing(Method::getName));
+          return List.copyOf(getters);
+        }
+      };
+
+  private IrCodec() {}
+
+  public static void write(ScanResult result, Path file) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      write(result, out);
+    }
+  }
+
+  public static void write(ScanResult result, OutputStream out) throws IOException {
+    DataOutputStream header = new DataOutputStream(out);
+    header.write(MAGIC);
+    header.writeInt(VERSION);
+    header.flush();
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      DeflaterOutputStream body = new DeflaterOutputStream(out, deflater, 1 << 16);
+      new Writer(new DataOutputStream(body)).scanResult(result);
+      body.finish();
+      out.flush();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  public static ScanResult read(Path file) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      return read(in);
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new IOException("Failed to read IR file " + file + ": " + ex.getMessage(), ex);
+    }
+  }
+
+  public static ScanResult read(InputStream in) throws IOException {
+    DataInputStream header = new DataInputStream(in);
+    byte[] magic = new byte[MAGIC.length];
+    header.readFully(magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("not an extractor IR file");
+    }
+    int version = header.readInt();
+    if (version != VERSION) {
+      throw new IOException(
+          "unsupported IR version " + version + " (this extractor reads version " + VERSION + ")");
+    }
+    return new Reader(new DataInputStream(new InflaterInputStream(in))).scanResult();
+  }
+
+  private static final class Writer {
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<Schema<?>, Integer> schemas = new IdentityHashMap<>();
+
+    Writer(DataOutputStream out) {
+      this.out = out;
+    }
+
+    @SuppressWarnings("rawtypes")
+    void scanResult(ScanResult result) throws IOException {
+      varint(result.shard().getIndex());
+      varint(result.shard().getCount());
+      varint(result.endpoints().size());
+      for (ResolvedEndpoint endpoint : result.endpoints()) {
+        endpoint(endpoint);
+      }
+      varint(result.components().size());
+      for (Map.Entry<String, Schema> entry : result.components().entrySet()) {
+        string(entry.getKey());
+        schema(entry.getValue());
+      }
+      strings(result.partialEvents());
+      out.flush();
+    }
+
+    private void endpoint(ResolvedEndpoint endpoint) throws IOException {
+      string(endpoint.httpMethod());
+      string(endpoint.fullPath());
+      string(endpoint.operationId());
+      string(endpoint.controller());
+      varint(endpoint.sourceOrder());
+      varint(endpoint.params().size());
+      for (ResolvedEndpoint.Param param : endpoint.params()) {
+        string(param.name());
+        string(param.location() == null ? null : param.location().name());
+        out.writeBoolean(param.required());
+        string(param.defaultValue());
+        schema(param.schema());
+      }
+      payload(endpoint.requestBody());
+      payload(endpoint.response());
+      out.writeBoolean(endpoint.truncated());
+    }
+
+    private void payload(ResolvedEndpoint.Payload payload) throws IOException {
+      out.writeBoolean(payload != null);
+      if (payload != null) {
+        out.writeBoolean(payload.required());
+        strings(payload.mediaTypes());
+        schema(payload.schema());
+      }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void schema(Schema<?> schema) throws IOException {
+      if (schema == null) {
+        varint(0);
+        return;
+      }
+      Integer id = schemas.get(schema);
+      if (id != null) {
+        varint(id + 2);
+        return;
+      }
+      schemas.put(schema, schemas.size());
+      varint(1);
+      Class<?> type = schema.getClass();
+      if (!type.getName().equals(SCHEMA_PACKAGE + type.getSimpleName())) {
+        throw new IllegalArgumentException("Cannot encode schema class " + type.getName());
+      }
+      string(type.getSimpleName());
+      checkEncodable(schema);
+
+      stringField(TITLE, schema.getTitle());
+      stringField(DESCRIPTION, schema.getDescription());
+      stringField(TYPE, schema.getType());
+      if (schema.getTypes() != null) {
+        tag(TYPES);
+        strings(new ArrayList<>(schema.getTypes()));
+      }
+      stringField(FORMAT, schema.getFormat());
+      stringField(REF, schema.get$ref());
+      if (schema.getRequired() != null) {
+        tag(REQUIRED);
+        strings(schema.getRequired());
+      }
+      if (schema.getEnum() != null) {
+        tag(ENUM);
+        value(schema.getEnum());
+      }
+      if (schema.getDefault() != null) {
+        tag(DEFAULT);
+        value(schema.getDefault());
+      }
+      if (schema.getExampleSetFlag()) {
+        tag(EXAMPLE);
+        value(schema.getExample());
+      }
+      booleanField(NULLABLE, schema.getNullable());
+      booleanField(READ_ONLY, schema.getReadOnly());
+      booleanField(WRITE_ONLY, schema.getWriteOnly());
+      booleanField(DEPRECATED, schema.getDeprecated());
+      valueField(MULTIPLE_OF, schema.getMultipleOf());
+      valueField(MAXIMUM, schema.getMaximum());
+      booleanField(EXCLUSIVE_MAXIMUM, schema.getExclusiveMaximum());
+      valueField(MINIMUM, schema.getMinimum());
+      booleanField(EXCLUSIVE_MINIMUM, schema.getExclusiveMinimum());
+      valueField(MAX_LENGTH, schema.getMaxLength());
+      valueField(MIN_LENGTH, schema.getMinLength());
+      stringField(PATTERN, schema.getPattern());
+      valueField(MAX_ITEMS, schema.getMaxItems());
+      valueField(MIN_ITEMS, schema.getMinItems());
+      booleanField(UNIQUE_ITEMS, schema.getUniqueItems());
+      valueField(MAX_PROPERTIES, schema.getMaxProperties());
+      valueField(MIN_PROPERTIES, schema.getMinProperties());
+      if (schema.getProperties() != null) {
+        tag(PROPERTIES);
+        Map<String, Schema> properties = schema.getProperties();
+        varint(properties.size());
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+          string(entry.getKey());
+          schema(entry.getValue());
+        }
+      }
+      Object additional = schema.getAdditionalProperties();
+      if (additional instanceof Schema<?> additionalSchema) {
+        tag(ADDITIONAL_SCHEMA);
+        schema(additionalSchema);
+      } else if (additional instanceof Boolean flag) {
+        tag(ADDITIONAL_BOOLEAN);
+        out.writeBoolean(flag);
+      } else if (additional != null) {
+        throw new IllegalArgumentException(
+            "Cannot encode additionalProperties of type " + additional.getClass().getName());
+      }
+      if (schema.getItems() != null) {
+        tag(ITEMS);
+        schema(schema.getItems());
+      }
+      if (schema.getNot() != null) {
+        tag(NOT);
+        schema(schema.getNot());
+      }
+      schemaList(ALL_OF, schema.getAllOf());
+      schemaList(ANY_OF, schema.getAnyOf());
+      schemaList(ONE_OF, schema.getOneOf());
+      Discriminator discriminator = schema.getDiscriminator();
+      if (discriminator != null) {
+        tag(DISCRIMINATOR);
+        string(discriminator.getPropertyName());
+        value(discriminator.getMapping());
+        value(discriminator.getExtensions());
+      }
+      ExternalDocumentation docs = schema.getExternalDocs();
+      if (docs != null) {
+        tag(EXTERNAL_DOCS);
+        string(docs.getDescription());
+        string(docs.getUrl());
+        value(docs.getExtensions());
+      }
+      XML xml = schema.getXml();
+      if (xml != null) {
+        tag(XML_INFO);
+        string(xml.getName());
+        string(xml.getNamespace());
+        string(xml.getPrefix());
+        value(xml.getAttribute());
+        value(xml.getWrapped());
+        value(xml.getExtensions());
+      }
+      if (schema.getExtensions() != null) {
+        tag(EXTENSIONS);
+        value(schema.getExtensions());
+      }
+      tag(END);
+    }
+
+    private static void checkEncodable(Schema<?> schema) {
+      if (schema.getSpecVersion() != SpecVersion.V30) {
+        throw new IllegalArgumentException(
+            "Cannot encode " + schema.getSpecVersion() + " schema " + describe(schema));
+      }
+      for (Method getter : UNENCODED_GETTERS.get(schema.getClass())) {
+        Object value;
+        try {
+          value = getter.invoke(schema);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+          throw new IllegalStateException("Cannot read " + getter, ex);
+        }
+        if (value != null) {
+          throw new IllegalArgumentException(
+              "Cannot encode field "
+                  + getter.getName().substring(3)
+                  + " of schema "
+                  + describe(schema));
+        }
+      }
+    }
+
+    private static String describe(Schema<?> schema) {
+      if (schema.getTitle() != null) {
+        return schema.getTitle();
+      }
+      return schema.get$ref() != null ? schema.get$ref() : String.valueOf(schema.getType());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void schemaList(int tag, List<Schema> schemas) throws IOException {
+      if (schemas != null) {
+        tag(tag);
+        varint(schemas.size());
+        for (Schema schema : schemas) {
+          schema(schema);
+        }
+      }
+    }
+
+    private void stringField(int tag, String value) throws IOException {
+      if (value != null) {
+        tag(tag);
+        string(value);
+      }
+    }
+
+    private void booleanField(int tag, Boolean value) throws IOException {
+      if (value != null) {
+        tag(tag);
+        out.writeBoolean(value);
+      }
+    }
+
+    private void valueField(int tag, Object value) throws IOException {
+      if (value != null) {
+        tag(tag);
+        value(value);
+      }
+    }
+
+    private void value(Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(V_NULL);
+      } else if (value instanceof String text) {
+        out.writeByte(V_STRING);
+        string(text);
+      } else if (value instanceof Boolean flag) {
+        out.writeByte(flag ? V_TRUE : V_FALSE);
+      } else if (value instanceof Integer number) {
+        out.writeByte(V_INT);
+        out.writeInt(number);
+      } else if (value instanceof Long number) {
+        out.writeByte(V_LONG);
+        out.writeLong(number);
+      } else if (value instanceof BigDecimal number) {
+        out.writeByte(V_DECIMAL);
+        bytes(number.unscaledValue().toByteArray());
+        out.writeInt(number.scale());
+      } else if (value instanceof BigInteger number) {
+        out.writeByte(V_BIG_INTEGER);
+        bytes(number.toByteArray());
+      } else if (value instanceof Double number) {
+        out.writeByte(V_DOUBLE);
+        out.writeDouble(number);
+      } else if (value instanceof Float number) {
+        out.writeByte(V_FLOAT);
+        out.writeFloat(number);
+      } else if (value instanceof List<?> list) {
+        out.writeByte(V_LIST);
+        varint(list.size());
+        for (Object item : list) {
+          value(item);
+        }
+      } else if (value instanceof Map<?, ?> map) {
+        out.writeByte(V_MAP);
+        varint(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          string(String.valueOf(entry.getKey()));
+          value(entry.getValue());
+        }
+      } else {
+        throw new IllegalArgumentException(
+            "Cannot encode value of type " + value.getClass().getName());
+      }
+    }
+
+    private void strings(List<String> values) throws IOException {
+      if (values == null) {
+        varint(0);
+        return;
+      }
+      varint(values.size() + 1);
+      for (String value : values) {
+        string(value);
+      }
+    }
+
+    private void string(String value) throws IOException {
+      if (value == null) {
+        varint(0);
+        return;
+      }
+      Integer index = strings.get(value);
+      if (index != null) {
+        varint(index + 2);
+        return;
+      }
+      strings.put(value, strings.size());
+      varint(1);
+      bytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void bytes(byte[] value) throws IOException {
+      varint(value.length);
+      out.write(value);
+    }
+
+    private void tag(int tag) throws IOException {
+      out.writeByte(tag);
+    }
+
+    private void varint(int value) throws IOException {
+      while ((value & ~0x7F) != 0) {
+        out.writeByte((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      out.writeByte(value);
+    }
+  }
+
+  private static final class Reader {
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Schema<?>> schemas = new ArrayList<>();
+
+    Reader(DataInputStream in) {
+      this.in = in;
+    }
+
+    @SuppressWarnings("rawtypes")
+    ScanResult scanResult() throws IOException {
+      SourceShard shard;
+      try {
+        shard = new SourceShard(varint(), varint());
+      } catch (IllegalArgumentException ex) {
+        throw new IOException(ex.getMessage(), ex);
+      }
+      int endpointCount = varint();
+      List<ResolvedEndpoint> endpoints = new ArrayList<>(endpointCount);
+      for (int i = 0; i < endpointCount; i++) {
+        endpoints.add(endpoint());
+      }
+      int componentCount = varint();
+      Map<String, Schema> components = new LinkedHashMap<>();
+      for (int i = 0; i < componentCount; i++) {
+        components.put(string(), schema());
+      }
+      List<String> partialEvents = strings();
+      return new ScanResult(
+          endpoints, components, partialEvents == null ? List.of() : partialEvents, shard);
+    }
+
+    private ResolvedEndpoint endpoint() throws IOException {
+      String httpMethod = string();
+      String fullPath = string();
+      String operationId = string();
+      String controller = string();
+      int sourceOrder = varint();
+      int paramCount = varint();
+      List<ResolvedEndpoint.Param> params = new ArrayList<>(paramCount);
+      for (int i = 0; i < paramCount; i++) {
+        String name = string();
+        String location = string();
+        params.add(
+            new ResolvedEndpoint.Param(
+                name,
+                location == null ? null : ParameterLocation.valueOf(location),
+                in.readBoolean(),
+                string(),
+                schema()));
+      }
+      ResolvedEndpoint.Payload requestBody = payload();
+      ResolvedEndpoint.Payload response = payload();
+      return new ResolvedEndpoint(
+          httpMethod,
+          fullPath,
+          operationId,
+          controller,
+          sourceOrder,
+          params,
+          requestBody,
+          response,
+          in.readBoolean());
+    }
+
+    private ResolvedEndpoint.Payload payload() throws IOException {
+      if (!in.readBoolean()) {
+        return null;
+      }
+      return new ResolvedEndpoint.Payload(in.readBoolean(), strings(), schema());
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private Schema<?> schema() throws IOException {
+      int id = varint();
+      if (id == 0) {
+        return null;
+      }
+      if (id >= 2) {
+        if (id - 2 >= schemas.size()) {
+          throw new IOException("schema reference " + (id - 2) + " out of range");
+        }
+        return schemas.get(id - 2);
+      }
+      Schema schema = instantiate(string());
+      schemas.add(schema);
+      // Subclass constructors preset type and format; the recorded fields are authoritative.
+      schema.setType(null);
+      schema.setTypes(null);
+      schema.setFormat(null);
+      for (int tag = in.readUnsignedByte(); tag != END; tag = in.readUnsignedByte()) {
+        switch (tag) {
+          case TITLE -> schema.setTitle(string());
+          case DESCRIPTION -> schema.setDescription(string());
+          case TYPE -> schema.setType(string());
+          case TYPES -> schema.setTypes(new LinkedHashSet<>(strings()));
+          case FORMAT -> schema.setFormat(string());
+          case REF -> schema.set$ref(string());
+          case REQUIRED -> schema.setRequired(strings());
+          case ENUM -> schema.setEnum((List) value());
+          case DEFAULT -> schema.setDefault(value());
+          case EXAMPLE -> schema.setExample(value());
+          case NULLABLE -> schema.setNullable(in.readBoolean());
+          case READ_ONLY -> schema.setReadOnly(in.readBoolean());
+          case WRITE_ONLY -> schema.setWriteOnly(in.readBoolean());
+          case DEPRECATED -> schema.setDeprecated(in.readBoolean());
+          case MULTIPLE_OF -> schema.setMultipleOf((BigDecimal) value());
+          case MAXIMUM -> schema.setMaximum((BigDecimal) value());
+          case EXCLUSIVE_MAXIMUM -> schema.setExclusiveMaximum(in.readBoolean());
+          case MINIMUM -> schema.setMinimum((BigDecimal) value());
+          case EXCLUSIVE_MINIMUM -> schema.setExclusiveMinimum(in.readBoolean());
+          case MAX_LENGTH -> schema.setMaxLength((Integer) value());
+          case MIN_LENGTH -> schema.setMinLength((Integer) value());
+          case PATTERN -> schema.setPattern(string());
+          case MAX_ITEMS -> schema.setMaxItems((Integer) value());
+          case MIN_ITEMS -> schema.setMinItems((Integer) value());
+          case UNIQUE_ITEMS -> schema.setUniqueItems(in.readBoolean());
+          case MAX_PROPERTIES -> schema.setMaxProperties((Integer) value());
+          case MIN_PROPERTIES -> schema.setMinProperties((Integer) value());
+          case PROPERTIES -> {
+            int count = varint();
+            Map<String, Schema> properties = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+              properties.put(string(), schema());
+            }
+            schema.setProperties(properties);
+          }
+          case ADDITIONAL_SCHEMA -> schema.setAdditionalProperties(schema());
+          case ADDITIONAL_BOOLEAN -> schema.setAdditionalProperties(in.readBoolean());
+          case ITEMS -> schema.setItems(schema());
+          case NOT -> schema.setNot(schema());
+          case ALL_OF -> schema.setAllOf(schemaList());
+          case ANY_OF -> schema.setAnyOf(schemaList());
+          case ONE_OF -> schema.setOneOf(schemaList());
+          case DISCRIMINATOR -> {
+            Discriminator discriminator = new Discriminator();
+            discriminator.setPropertyName(string());
+            discriminator.setMapping((Map<String, String>) value());
+            discriminator.setExtensions((Map<String, Object>) value());
+            schema.setDiscriminator(discriminator);
+          }
+          case EXTERNAL_DOCS -> {
+            ExternalDocumentation docs = new ExternalDocumentation();
+            docs.setDescription(string());
+            docs.setUrl(string());
+            docs.setExtensions((Map<String, Object>) value());
+            schema.setExternalDocs(docs);
+          }
+          case XML_INFO -> {
+            XML xml = new XML();
+            xml.setName(string());
+            xml.setNamespace(string());
+            xml.setPrefix(string());
+            xml.setAttribute((Boolean) value());
+            xml.setWrapped((Boolean) value());
+            xml.setExtensions((Map<String, Object>) value());
+            schema.setXml(xml);
+          }
+          case EXTENSIONS -> schema.setExtensions((Map<String, Object>) value());
+          default -> throw new IOException("unknown schema field tag " + tag);
+        }
+      }
+      return schema;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static Schema instantiate(String simpleName) throws IOException {
+      try {
+        Class<?> type = Class.forName(SCHEMA_PACKAGE + simpleName);
+        if (!Schema.class.isAssignableFrom(type)) {
+          throw new IOException(simpleName + " is not a schema class");
+        }
+        return (Schema) type.getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException ex) {
+        throw new IOException("Cannot instantiate schema class " + simpleName, ex);
+      }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private List<Schema> schemaList() throws IOException {
+      int count = varint();
+      List<Schema> list = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        list.add(schema());
+      }
+      return list;
+    }
+
+    private Object value() throws IOException {
+      int kind = in.readUnsignedByte();
+      switch (kind) {
+        case V_NULL:
+          return null;
+        case V_STRING:
+          return string();
+        case V_TRUE:
+          return Boolean.TRUE;
+        case V_FALSE:
+          return Boolean.FALSE;
+        case V_INT:
+          return in.readInt();
+        case V_LONG:
+          return in.readLong();
+        case V_DECIMAL:
+          return new BigDecimal(new BigInteger(bytes()), in.readInt());
+        case V_BIG_INTEGER:
+          return new BigInteger(bytes());
+        case V_DOUBLE:
+          return in.readDouble();
+        case V_FLOAT:
+          return in.readFloat();
+        case V_LIST:
+          {
+            int count = varint();
+            List<Object> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+              list.add(value());
+            }
+            return list;
+          }
+        case V_MAP:
+          {
+            int count = varint();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+              map.put(string(), value());
+            }
+            return map;
+          }
+        default:
+          throw new IOException("unknown value kind " + kind);
+      }
+    }
+
+    private List<String> strings() throws IOException {
+      int count = varint();
+      if (count == 0) {
+        return null;
+      }
+      List<String> values = new ArrayList<>(count - 1);
+      for (int i = 1; i < count; i++) {
+        values.add(string());
+      }
+      return values;
+    }
+
+    private String string() throws IOException {
+      int id = varint();
+      if (id == 0) {
+        return null;
+      }
+      if (id >= 2) {
+        if (id - 2 >= strings.size()) {
+          throw new IOException("string reference " + (id - 2) + " out of range");
+        }
+        return strings.get(id - 2);
+      }
+      String value = new String(bytes(), StandardCharsets.UTF_8);
+      strings.add(value);
+      return value;
+    }
+
+    private byte[] bytes() throws IOException {
+      byte[] value = new byte[varint()];
+      in.readFully(value);
+      return value;
+    }
+
+    private int varint() throws IOException {
+      int value = 0;
+      for (int shift = 0; shift < 32; shift += 7) {
+        int b = in.read();
+        if (b < 0) {
+          throw new EOFException("truncated IR file");
+        }
+        value |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("malformed varint");
+    }
+  }
+}
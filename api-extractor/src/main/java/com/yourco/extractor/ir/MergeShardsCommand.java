@@ -0,0 +1,41 @@
+package com.yourco.extractor.ir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Parameters;
+
+@Command(
+    name = "merge-shards",
+    mixinStandardHelpOptions = true,
+    description = "Build one OpenAPI document from the IR files of a --shard i/N scan")
+public class MergeShardsCommand implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MergeShardsCommand.class);
+
+  @Parameters(arity = "1..*", description = "IR files written with --shard and --ir-out")
+  List<Path> inputs;
+
+  @Mixin RenderOptions options;
+
+  @Override
+  public Integer call() throws Exception {
+    List<ScanResult> shards = new ArrayList<>(inputs.size());
+    for (Path input : inputs) {
+      shards.add(IrCodec.read(input));
+    }
+    ScanResult merged = new ScanMerger().merge(shards);
+    LOGGER.info(
+        "Merged {} shards into {} endpoints and {} components",
+        shards.size(),
+        merged.endpoints().size(),
+        merged.components().size());
+    options.render(merged);
+    return 0;
+  }
+}
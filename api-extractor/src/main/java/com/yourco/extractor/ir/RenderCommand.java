@@ -0,0 +1,35 @@
+package com.yourco.extractor.ir;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Option;
+
+@Command(
+    name = "render",
+    mixinStandardHelpOptions = true,
+    description = "Build the OpenAPI document from a scan IR written with --ir-out")
+public class RenderCommand implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RenderCommand.class);
+
+  @Option(names = "--ir", required = true, description = "IR file written by --ir-out")
+  Path irPath;
+
+  @Mixin RenderOptions options;
+
+  @Override
+  public Integer call() throws Exception {
+    ScanResult scan = IrCodec.read(irPath);
+    LOGGER.info(
+        "Read {} endpoints and {} components from {}",
+        scan.endpoints().size(),
+        scan.components().size(),
+        irPath);
+    options.render(scan);
+    return 0;
+  }
+}
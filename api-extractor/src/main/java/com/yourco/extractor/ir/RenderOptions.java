@@ -0,0 +1,68 @@
+package com.yourco.extractor.ir;
+
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.Main;
+import com.yourco.extractor.OutputCompression;
+import com.yourco.extractor.OutputFormat;
+import com.yourco.extractor.RunContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import picocli.CommandLine.Option;
+
+/** Document options shared by the subcommands that render scan results. */
+public class RenderOptions {
+
+  @Option(
+      names = "--config",
+      description = "extractor.yml for output options; source directories need not exist")
+  Path configPath;
+
+  @Option(names = "--out", required = true, description = "Output OpenAPI file path")
+  Path outPath;
+
+  @Option(names = "--title", description = "OpenAPI title")
+  String title;
+
+  @Option(names = "--api-version", description = "OpenAPI document version")
+  String version;
+
+  @Option(names = "--format", description = "Output format (json, json-compact, yaml)")
+  String format;
+
+  @Option(names = "--compress", description = "Output compression (none, gzip)")
+  String compress;
+
+  @Option(names = "--shard-by", description = "Split the output by controller or path (none)")
+  String shardBy;
+
+  void render(ScanResult scan) throws IOException {
+    ExtractorConfig config =
+        configPath != null
+            ? ExtractorConfig.loadWithoutSources(configPath)
+            : ExtractorConfig.defaults();
+    if (format != null) {
+      config.getOutput().setFormat(format);
+    }
+    if (compress != null) {
+      config.getOutput().setCompress(compress);
+    }
+    if (shardBy != null) {
+      config.getOutput().setShardBy(shardBy);
+    }
+    OutputFormat.parse(config.getOutput().getFormat());
+    OutputCompression.parse(config.getOutput().getCompress());
+
+    Path parent = outPath.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    Main.render(
+        config,
+        title != null ? title : config.getDefaultTitle(),
+        version != null ? version : config.getDefaultVersion(),
+        scan,
+        outPath,
+        RunContext.standalone());
+  }
+}
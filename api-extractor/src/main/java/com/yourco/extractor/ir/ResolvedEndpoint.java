@@ -0,0 +1,33 @@
+package com.yourco.extractor.ir;
+
+import com.yourco.extractor.model.ParameterLocation;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.List;
+
+/**
+ * An endpoint with its parameter and payload schemas generated: everything {@code OpenApiBuilder}
+ * needs to build the operation, without references to parsed sources. Payload schemas already
+ * have wrapper templates applied. A null response stands for an untyped object response.
+ * {@code sourceOrder} is the position of the declaring file in scan order.
+ */
+public record ResolvedEndpoint(
+    String httpMethod,
+    String fullPath,
+    String operationId,
+    String controller,
+    int sourceOrder,
+    List<Param> params,
+    Payload requestBody,
+    Payload response,
+    boolean truncated) {
+
+  public record Param(
+      String name,
+      ParameterLocation location,
+      boolean required,
+      String defaultValue,
+      Schema<?> schema) {}
+
+  /** {@code mediaTypes} are as declared; normalization is a rendering option. */
+  public record Payload(boolean required, List<String> mediaTypes, Schema<?> schema) {}
+}
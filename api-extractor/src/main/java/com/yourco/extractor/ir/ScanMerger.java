@@ -0,0 +1,136 @@
+package com.yourco.extractor.ir;
+
+import com.yourco.extractor.SchemaRefs;
+import com.yourco.extractor.SourceShard;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Combines the scan results of {@code --shard 1/N} to {@code N/N} into the result of a
+ * single-process scan.
+ *
+ * <p>Endpoints are put back into source order; the sort is stable, so endpoints of one file keep
+ * their order. Components are generated deterministically from the shared type graph, so a name
+ * produced by several shards stands for the same schema. A single-process scan registers each
+ * component while resolving the first endpoint that uses it, so components are ordered by the
+ * source position of that endpoint, then by registration order within the shard that holds it.
+ * Components no endpoint reaches keep their place after the one registered before them.
+ */
+public final class ScanMerger {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ScanMerger.class);
+
+  @SuppressWarnings("rawtypes")
+  public ScanResult merge(List<ScanResult> shards) {
+    Map<Integer, ScanResult> byIndex = new TreeMap<>();
+    int count = shards.isEmpty() ? 0 : shards.get(0).shard().getCount();
+    for (ScanResult shard : shards) {
+      if (shard.shard().getCount() != count) {
+        throw new IllegalArgumentException(
+            "Shards of different scans: " + shard.shard() + " does not belong to a scan of " + count);
+      }
+      if (byIndex.put(shard.shard().getIndex(), shard) != null) {
+        throw new IllegalArgumentException("Shard " + shard.shard() + " given more than once");
+      }
+    }
+    for (int index = 1; index <= count; index++) {
+      if (!byIndex.containsKey(index)) {
+        throw new IllegalArgumentException("Missing shard " + index + "/" + count);
+      }
+    }
+
+    List<ResolvedEndpoint> endpoints = new ArrayList<>();
+    Map<String, Placement> placements = new HashMap<>();
+    List<String> partialEvents = new ArrayList<>();
+    for (Map.Entry<Integer, ScanResult> shard : byIndex.entrySet()) {
+      endpoints.addAll(shard.getValue().endpoints());
+      place(shard.getKey(), shard.getValue(), placements);
+      partialEvents.addAll(shard.getValue().partialEvents());
+    }
+    endpoints.sort(Comparator.comparingInt(ResolvedEndpoint::sourceOrder));
+
+    List<Map.Entry<String, Placement>> ordered = new ArrayList<>(placements.entrySet());
+    ordered.sort(Map.Entry.comparingByValue(PLACEMENT_ORDER));
+    Map<String, Schema> components = new LinkedHashMap<>();
+    for (Map.Entry<String, Placement> entry : ordered) {
+      components.put(entry.getKey(), entry.getValue().schema());
+    }
+    return new ScanResult(endpoints, components, partialEvents, SourceShard.ALL);
+  }
+
+  private static final Comparator<Placement> PLACEMENT_ORDER =
+      Comparator.comparingInt(Placement::sourceOrder)
+          .thenComparingInt(Placement::shard)
+          .thenComparingInt(Placement::registration);
+
+  /** Where a component lands: the first use, then its position in that shard's registration. */
+  @SuppressWarnings("rawtypes")
+  private record Placement(int sourceOrder, int shard, int registration, Schema schema) {}
+
+  @SuppressWarnings("rawtypes")
+  private static void place(int index, ScanResult shard, Map<String, Placement> placements) {
+    Map<String, Integer> firstUse = firstUse(shard);
+    int sourceOrder = -1;
+    int registration = 0;
+    for (Map.Entry<String, Schema> entry : shard.components().entrySet()) {
+      sourceOrder = firstUse.getOrDefault(entry.getKey(), sourceOrder);
+      Placement placement = new Placement(sourceOrder, index, registration++, entry.getValue());
+      Placement existing = placements.get(entry.getKey());
+      if (existing == null) {
+        placements.put(entry.getKey(), placement);
+        continue;
+      }
+      if (!existing.schema().equals(placement.schema())) {
+        LOGGER.warn(
+            "Component {} differs between shards; keeping the one from the shard that uses it"
+                + " first",
+            entry.getKey());
+      }
+      if (PLACEMENT_ORDER.compare(placement, existing) < 0) {
+        placements.put(entry.getKey(), placement);
+      }
+    }
+  }
+
+  /** Source order of the first endpoint of {@code shard} whose schemas reach each component. */
+  @SuppressWarnings("rawtypes")
+  private static Map<String, Integer> firstUse(ScanResult shard) {
+    Map<String, Integer> firstUse = new HashMap<>();
+    Set<String> reached = new HashSet<>();
+    for (ResolvedEndpoint endpoint : shard.endpoints()) {
+      List<Schema<?>> pending = new ArrayList<>();
+      for (ResolvedEndpoint.Param param : endpoint.params()) {
+        pending.add(param.schema());
+      }
+      if (endpoint.requestBody() != null) {
+        pending.add(endpoint.requestBody().schema());
+      }
+      if (endpoint.response() != null) {
+        pending.add(endpoint.response().schema());
+      }
+      // Grows while it is walked: each newly reached component is walked in turn.
+      for (int next = 0; next < pending.size(); next++) {
+        SchemaRefs.visitTree(
+            pending.get(next),
+            node -> {
+              String name = SchemaRefs.componentName(node.get$ref());
+              if (name != null && reached.add(name)) {
+                firstUse.put(name, endpoint.sourceOrder());
+                pending.add(shard.components().get(name));
+              }
+            });
+      }
+    }
+    return firstUse;
+  }
+}
@@ -0,0 +1,18 @@
+package com.yourco.extractor.ir;
+
+import com.yourco.extractor.SourceShard;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Output of the scan phase: resolved endpoints in discovery order, the component schemas they
+ * reference in registration order, the budget events that make the result partial, and the slice
+ * of source files it covers.
+ */
+@SuppressWarnings("rawtypes")
+public record ScanResult(
+    List<ResolvedEndpoint> endpoints,
+    Map<String, Schema> components,
+    List<String> partialEvents,
+    SourceShard shard) {}
@@ -0,0 +1,51 @@
+package com.yourco.extractor.merge;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+@Command(
+    name = "merge",
+    mixinStandardHelpOptions = true,
+    description = "Merge generated OpenAPI documents into a single gateway document")
+public class MergeCommand implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MergeCommand.class);
+
+  @Parameters(arity = "1..*", description = "OpenAPI documents to merge, in priority order")
+  List<Path> inputs;
+
+  @Option(names = "--out", required = true, description = "Merged OpenAPI file path")
+  Path outPath;
+
+  @Option(names = "--title", description = "OpenAPI title")
+  String title = "Gateway API";
+
+  @Option(names = "--api-version", description = "OpenAPI document version")
+  String version = "1.0.0";
+
+  @Option(
+      names = "--on-conflict",
+      description = "What to do when two inputs define the same operation (fail, skip)")
+  String onConflict = "fail";
+
+  @Override
+  public Integer call() throws Exception {
+    SpecMerger.ConflictPolicy policy =
+        SpecMerger.ConflictPolicy.valueOf(onConflict.trim().toUpperCase(Locale.ROOT));
+    Path parent = outPath.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    new SpecMerger(policy).merge(inputs, outPath, title, version);
+    LOGGER.info("Merged specification written to {}", outPath);
+    return 0;
+  }
+}
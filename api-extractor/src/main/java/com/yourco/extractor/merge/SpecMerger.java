@@ -0,0 +1,474 @@
+package com.yourco.extractor.merge;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.yourco.extractor.ContentHash;
+import com.yourco.extractor.Documents;
+import com.yourco.extractor.SchemaRefs;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges several OpenAPI 3 documents into one without loading any of them completely.
+ *
+ * <p>Every input is streamed twice. The first pass only records hash indexes: a content hash and
+ * the outgoing refs per component, and the methods and operation ids per path. Conflicts are
+ * resolved on those indexes: identical components (same content, refs resolving to the same
+ * merged components) are written once, differing components with the same name are renamed after
+ * their service, duplicate operation ids are prefixed the same way, and a method defined for the
+ * same path by two services is a conflict. The second pass writes the merged document directly,
+ * rewriting refs per input. Only path items shared by several services are held until the end.
+ */
+public final class SpecMerger {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SpecMerger.class);
+  private static final Set<String> METHODS =
+      Set.of("get", "put", "post", "delete", "options", "head", "patch", "trace");
+
+  public enum ConflictPolicy {
+    FAIL,
+    SKIP
+  }
+
+  private final ConflictPolicy policy;
+  private final List<Input> inputs = new ArrayList<>();
+  /** Merged component name to what it was written with. */
+  private final Map<String, Written> written = new HashMap<>();
+  /** "METHOD path" to the service that owns it. */
+  private final Map<String, String> operationOwners = new HashMap<>();
+  private final Set<String> operationIds = new HashSet<>();
+  private final Map<String, Integer> pathUsage = new HashMap<>();
+  private final List<String> conflicts = new ArrayList<>();
+  private int deduplicated;
+  private int renamed;
+
+  private record Written(byte[] hash, Map<String, String> refTargets) {}
+
+  private record ComponentIndex(byte[] hash, Set<String> refs) {}
+
+  private static final class Input {
+    final Path file;
+    final String service;
+    final Map<String, ComponentIndex> components = new LinkedHashMap<>();
+    final Map<String, String> componentNames = new HashMap<>();
+    final Set<String> componentsToWrite = new HashSet<>();
+    /** "METHOD path" to the operation id it is renamed to. */
+    final Map<String, String> operationIds = new HashMap<>();
+    final Set<String> skipped = new HashSet<>();
+
+    Input(Path file, String service) {
+      this.file = file;
+      this.service = service;
+    }
+  }
+
+  public SpecMerger(ConflictPolicy policy) {
+    this.policy = policy;
+  }
+
+  public void merge(List<Path> files, Path output, String title, String version)
+      throws IOException {
+    for (Path file : files) {
+      Input input = new Input(file, uniqueService(serviceName(file)));
+      index(input);
+      resolve(input);
+      inputs.add(input);
+    }
+    if (!conflicts.isEmpty()) {
+      conflicts.forEach(conflict -> LOGGER.warn("Merge conflict: {}", conflict));
+      if (policy == ConflictPolicy.FAIL) {
+        throw new IOException(conflicts.size() + " merge conflicts; see log for details");
+      }
+    }
+    int paths = write(output, title, version);
+    LOGGER.info(
+        "Merged {} inputs into {} paths and {} components ({} deduplicated, {} renamed, "
+            + "{} conflicts)",
+        inputs.size(),
+        paths,
+        written.size(),
+        deduplicated,
+        renamed,
+        conflicts.size());
+  }
+
+  private void index(Input input) throws IOException {
+    try (JsonParser parser = Documents.openParser(input.file)) {
+      forEachSection(
+          parser,
+          (section, name) -> {
+            JsonNode node = parser.readValueAsTree();
+            if (section.equals("schemas")) {
+              Set<String> refs = new TreeSet<>();
+              collectRefs(node, refs);
+              input.components.put(name, new ComponentIndex(hash(node), refs));
+            } else {
+              indexPath(input, name, node);
+            }
+          });
+    }
+  }
+
+  private void indexPath(Input input, String path, JsonNode pathItem) {
+    pathUsage.merge(path, 1, Integer::sum);
+    Iterator<Map.Entry<String, JsonNode>> fields = pathItem.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> entry = fields.next();
+      String method = entry.getKey().toLowerCase(Locale.ROOT);
+      if (!METHODS.contains(method) || !entry.getValue().isObject()) {
+        continue;
+      }
+      String key = method.toUpperCase(Locale.ROOT) + " " + path;
+      String owner = operationOwners.putIfAbsent(key, input.service);
+      if (owner != null) {
+        conflicts.add(key + " is defined by both " + owner + " and " + input.service);
+        input.skipped.add(key);
+        continue;
+      }
+      JsonNode operationId = entry.getValue().get("operationId");
+      if (operationId != null && operationId.isTextual()) {
+        String id = operationId.textValue();
+        if (!operationIds.add(id)) {
+          String unique = input.service + "_" + id;
+          for (int suffix = 2; !operationIds.add(unique); suffix++) {
+            unique = input.service + "_" + id + "_" + suffix;
+          }
+          input.operationIds.put(key, unique);
+          LOGGER.warn(
+              "Renamed duplicate operationId {} of {} in {} to {}", id, key, input.service, unique);
+        }
+      }
+    }
+  }
+
+  /**
+   * Decides per component whether it is new, identical to an already merged one, or must be
+   * renamed. A same-named component only counts as identical when its content hash matches and
+   * every ref it contains resolves to the same merged component; that is iterated to a fixed point
+   * because renaming one component can make its referrers differ too.
+   */
+  private void resolve(Input input) {
+    Set<String> identical = new HashSet<>();
+    for (Map.Entry<String, ComponentIndex> entry : input.components.entrySet()) {
+      String name = entry.getKey();
+      Written existing = written.get(name);
+      if (existing == null) {
+        input.componentNames.put(name, name);
+      } else if (Arrays.equals(existing.hash(), entry.getValue().hash())) {
+        input.componentNames.put(name, name);
+        identical.add(name);
+      } else {
+        input.componentNames.put(name, uniqueComponent(name, input));
+      }
+    }
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      Iterator<String> candidates = identical.iterator();
+      while (candidates.hasNext()) {
+        String name = candidates.next();
+        Map<String, String> targets = written.get(name).refTargets();
+        for (String ref : input.components.get(name).refs()) {
+          if (!input.componentNames.getOrDefault(ref, ref).equals(targets.get(ref))) {
+            input.componentNames.put(name, uniqueComponent(name, input));
+            candidates.remove();
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+    for (Map.Entry<String, ComponentIndex> entry : input.components.entrySet()) {
+      String name = entry.getKey();
+      if (identical.contains(name)) {
+        deduplicated++;
+        continue;
+      }
+      String target = input.componentNames.get(name);
+      if (!target.equals(name)) {
+        renamed++;
+        LOGGER.warn("Renamed conflicting component {} in {} to {}", name, input.service, target);
+      }
+      Map<String, String> refTargets = new HashMap<>();
+      for (String ref : entry.getValue().refs()) {
+        refTargets.put(ref, input.componentNames.getOrDefault(ref, ref));
+      }
+      written.put(target, new Written(entry.getValue().hash(), refTargets));
+      input.componentsToWrite.add(name);
+    }
+  }
+
+  private int write(Path output, String title, String version) throws IOException {
+    Map<String, ObjectNode> shared = new LinkedHashMap<>();
+    int[] paths = {0};
+    try (JsonGenerator generator = Documents.createGenerator(output)) {
+      generator.writeStartObject();
+      generator.writeStringField("openapi", "3.0.1");
+      generator.writeObjectFieldStart("info");
+      generator.writeStringField("title", title);
+      generator.writeStringField("version", version);
+      generator.writeEndObject();
+
+      generator.writeObjectFieldStart("components");
+      generator.writeObjectFieldStart("schemas");
+      for (Input input : inputs) {
+        streamSection(
+            input,
+            "schemas",
+            (name, node) -> {
+              if (input.componentsToWrite.contains(name)) {
+                rewriteRefs(node, input);
+                generator.writeFieldName(input.componentNames.get(name));
+                generator.writeTree(node);
+              }
+            });
+      }
+      generator.writeEndObject();
+      generator.writeEndObject();
+
+      generator.writeObjectFieldStart("paths");
+      for (Input input : inputs) {
+        streamSection(
+            input,
+            "paths",
+            (path, node) -> {
+              ObjectNode pathItem = preparePathItem(input, path, node);
+              if (pathUsage.getOrDefault(path, 0) > 1) {
+                ObjectNode merged = shared.computeIfAbsent(path, key -> pathItem.objectNode());
+                pathItem
+                    .fields()
+                    .forEachRemaining(
+                        field -> {
+                          if (!field.getValue().isNull() || !merged.has(field.getKey())) {
+                            merged.set(field.getKey(), field.getValue());
+                          }
+                        });
+              } else if (hasOperations(pathItem)) {
+                generator.writeFieldName(path);
+                generator.writeTree(pathItem);
+                paths[0]++;
+              }
+            });
+      }
+      for (Map.Entry<String, ObjectNode> entry : shared.entrySet()) {
+        if (!hasOperations(entry.getValue())) {
+          continue;
+        }
+        generator.writeFieldName(entry.getKey());
+        generator.writeTree(entry.getValue());
+        paths[0]++;
+      }
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    return paths[0];
+  }
+
+  private ObjectNode preparePathItem(Input input, String path, JsonNode node) {
+    if (!(node instanceof ObjectNode pathItem)) {
+      return JsonNodeFactory.instance.objectNode();
+    }
+    Iterator<Map.Entry<String, JsonNode>> fields = pathItem.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> entry = fields.next();
+      String method = entry.getKey().toLowerCase(Locale.ROOT);
+      if (!METHODS.contains(method) || !(entry.getValue() instanceof ObjectNode operation)) {
+        continue;
+      }
+      String key = method.toUpperCase(Locale.ROOT) + " " + path;
+      if (input.skipped.contains(key)) {
+        fields.remove();
+        continue;
+      }
+      String operationId = input.operationIds.get(key);
+      if (operationId != null) {
+        operation.put("operationId", operationId);
+      }
+    }
+    rewriteRefs(pathItem, input);
+    return pathItem;
+  }
+
+  private static boolean hasOperations(JsonNode pathItem) {
+    Iterator<Map.Entry<String, JsonNode>> fields = pathItem.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (METHODS.contains(field.getKey().toLowerCase(Locale.ROOT))
+          && field.getValue().isObject()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void rewriteRefs(JsonNode node, Input input) {
+    if (node instanceof ObjectNode object) {
+      JsonNode ref = object.get("$ref");
+      if (ref != null && ref.isTextual()) {
+        String target = SchemaRefs.componentName(ref.textValue());
+        String mapped = target == null ? null : input.componentNames.get(target);
+        if (mapped != null && !mapped.equals(target)) {
+          object.set("$ref", TextNode.valueOf(SchemaRefs.componentRef(mapped)));
+        }
+      }
+    }
+    for (JsonNode child : node) {
+      rewriteRefs(child, input);
+    }
+  }
+
+  private interface EntryHandler {
+    void accept(String section, String name) throws IOException;
+  }
+
+  private interface NodeHandler {
+    void accept(String name, JsonNode node) throws IOException;
+  }
+
+  private void streamSection(Input input, String wanted, NodeHandler handler) throws IOException {
+    try (JsonParser parser = Documents.openParser(input.file)) {
+      forEachSection(
+          parser,
+          (section, name) -> {
+            if (section.equals(wanted)) {
+              handler.accept(name, parser.readValueAsTree());
+            } else {
+              parser.skipChildren();
+            }
+          });
+    }
+  }
+
+  /**
+   * Walks {@code paths} and {@code components.schemas}, calling {@code handler} positioned on the
+   * value of each entry; the handler must consume or skip it.
+   */
+  private static void forEachSection(JsonParser parser, EntryHandler handler) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("Expected an OpenAPI document object");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (field.equals("paths") && value == JsonToken.START_OBJECT) {
+        forEachEntry(parser, "paths", handler);
+      } else if (field.equals("components") && value == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String section = parser.currentName();
+          if (parser.nextToken() == JsonToken.START_OBJECT && section.equals("schemas")) {
+            forEachEntry(parser, "schemas", handler);
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private static void forEachEntry(JsonParser parser, String section, EntryHandler handler)
+      throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      handler.accept(section, name);
+    }
+  }
+
+  private static void collectRefs(JsonNode node, Set<String> refs) {
+    JsonNode ref = node.get("$ref");
+    if (ref != null && ref.isTextual()) {
+      String target = SchemaRefs.componentName(ref.textValue());
+      if (target != null) {
+        refs.add(target);
+      }
+    }
+    for (JsonNode child : node) {
+      collectRefs(child, refs);
+    }
+  }
+
+  /** SHA-256 over the tree with object fields in sorted order, so key order does not matter. */
+  private static byte[] hash(JsonNode node) {
+    MessageDigest digest = ContentHash.newDigest();
+    update(digest, node);
+    return digest.digest();
+  }
+
+  private static void update(MessageDigest digest, JsonNode node) {
+    if (node.isObject()) {
+      digest.update((byte) '{');
+      Set<String> names = new TreeSet<>();
+      node.fieldNames().forEachRemaining(names::add);
+      for (String name : names) {
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        update(digest, node.get(name));
+      }
+      digest.update((byte) '}');
+    } else if (node.isArray()) {
+      digest.update((byte) '[');
+      for (JsonNode element : node) {
+        update(digest, element);
+        digest.update((byte) ',');
+      }
+      digest.update((byte) ']');
+    } else {
+      digest.update(node.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private String uniqueComponent(String name, Input input) {
+    String candidate = name + "_" + input.service;
+    for (int i = 2;
+        written.containsKey(candidate) || input.components.containsKey(candidate);
+        i++) {
+      candidate = name + "_" + input.service + "_" + i;
+    }
+    return candidate;
+  }
+
+  private String uniqueService(String service) {
+    String candidate = service;
+    for (int i = 2; isServiceTaken(candidate); i++) {
+      candidate = service + "_" + i;
+    }
+    return candidate;
+  }
+
+  private boolean isServiceTaken(String service) {
+    for (Input input : inputs) {
+      if (input.service.equals(service)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String serviceName(Path file) {
+    String name = file.getFileName().toString();
+    int dot = name.indexOf('.');
+    return (dot > 0 ? name.substring(0, dot) : name).replaceAll("[^A-Za-z0-9]+", "_");
+  }
+}
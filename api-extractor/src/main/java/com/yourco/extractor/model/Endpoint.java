@@ -15,6 +15,8 @@ public class Endpoint {
   private final List<String> consumes;
   private final List<String> produces;
   private final String operationId;
+  private final String controller;
+  private final int sourceOrder;
 
   private Endpoint(Builder builder) {
     this.httpMethod = builder.httpMethod;
@@ -25,6 +27,8 @@ public class Endpoint {
     this.consumes = Collections.unmodifiableList(new ArrayList<>(builder.consumes));
     this.produces = Collections.unmodifiableList(new ArrayList<>(builder.produces));
     this.operationId = builder.operationId;
+    this.controller = builder.controller;
+    this.sourceOrder = builder.sourceOrder;
   }
 
   public String getHttpMethod() {
@@ -59,6 +63,15 @@ public class Endpoint {
     return operationId;
   }
 
+  public String getController() {
+    return controller;
+  }
+
+  /** Position of the declaring source file in scan order; used to merge sharded scans. */
+  public int getSourceOrder() {
+    return sourceOrder;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -72,6 +85,8 @@ public class Endpoint {
     private List<String> consumes = new ArrayList<>();
     private List<String> produces = new ArrayList<>();
     private String operationId;
+    private String controller;
+    private int sourceOrder;
 
     private Builder() {}
 
@@ -120,6 +135,16 @@ public class Endpoint {
       return this;
     }
 
+    public Builder controller(String controller) {
+      this.controller = controller;
+      return this;
+    }
+
+    public Builder sourceOrder(int sourceOrder) {
+      this.sourceOrder = sourceOrder;
+      return this;
+    }
+
     public Endpoint build() {
       Objects.requireNonNull(httpMethod, "httpMethod");
       Objects.requireNonNull(fullPath, "fullPath");
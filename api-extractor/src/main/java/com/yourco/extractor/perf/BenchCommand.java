@@ -0,0 +1,149 @@
+package com.yourco.extractor.perf;
+
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.Main;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.perf.BenchResult.Regression;
+import com.yourco.extractor.perf.BenchResult.Summary;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+@Command(
+    name = "bench",
+    mixinStandardHelpOptions = true,
+    description = "Run the extraction repeatedly and report per-phase percentiles")
+public class BenchCommand implements Callable<Integer> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BenchCommand.class);
+
+  @Option(names = "--config", required = true, description = "Path to extractor.yml")
+  Path configPath;
+
+  @Option(names = "--out", description = "Output file of each run (default: a temporary file)")
+  Path outPath;
+
+  @Option(names = "--iterations", description = "Measured runs (default 10)")
+  int iterations = 10;
+
+  @Option(names = "--warmup", description = "Unmeasured runs before measuring (default 3)")
+  int warmup = 3;
+
+  @Option(names = "--report", description = "Write the percentiles as JSON (usable as baseline)")
+  Path report;
+
+  @Option(names = "--baseline", description = "Compare medians against this bench report")
+  Path baseline;
+
+  @Option(
+      names = "--threshold",
+      description = "Fail when a phase median is this many percent slower (default 10)")
+  double threshold = 10;
+
+  @Option(
+      names = "--min-millis",
+      description = "Ignore phases whose baseline median is below this (default 5)")
+  double minMillis = 5;
+
+  @Override
+  public Integer call() throws Exception {
+    if (iterations < 1 || warmup < 0) {
+      throw new IllegalArgumentException(
+          "--iterations must be positive and --warmup must not be negative");
+    }
+    BenchResult previous = baseline != null ? BenchResult.read(baseline) : null;
+    Path out = outPath;
+    Path scratch = null;
+    if (out != null && out.toAbsolutePath().getParent() != null) {
+      Files.createDirectories(out.toAbsolutePath().getParent());
+    } else if (out == null) {
+      scratch = Files.createTempDirectory("extractor-bench");
+      out = scratch.resolve("openapi.json");
+    }
+    Map<String, List<Double>> samples = new LinkedHashMap<>();
+    try {
+      for (int run = 0; run < warmup + iterations; run++) {
+        Map<String, Double> phases = runOnce(out);
+        if (run >= warmup) {
+          phases.forEach(
+              (phase, millis) ->
+                  samples.computeIfAbsent(phase, name -> new ArrayList<>()).add(millis));
+        }
+      }
+    } finally {
+      if (scratch != null) {
+        deleteScratch(scratch);
+      }
+    }
+    BenchResult result = BenchResult.of(samples);
+    print(result, previous);
+    if (report != null) {
+      result.write(report);
+      LOGGER.info("Bench report written to {}", report);
+    }
+    if (previous == null) {
+      return 0;
+    }
+    List<Regression> regressions = result.regressionsAgainst(previous, threshold, minMillis);
+    for (Regression regression : regressions) {
+      System.out.printf(
+          "REGRESSION %s: median %.1f ms -> %.1f ms (%+.1f%%, threshold %.1f%%)%n",
+          regression.phase(),
+          regression.baselineMillis(),
+          regression.currentMillis(),
+          regression.percent(),
+          threshold);
+    }
+    return regressions.isEmpty() ? 0 : 1;
+  }
+
+  private Map<String, Double> runOnce(Path out) throws Exception {
+    RunContext context = RunContext.standalone();
+    long start = System.nanoTime();
+    ExtractorConfig config = context.call("config", () -> ExtractorConfig.load(configPath));
+    Main.extract(config, config.getDefaultTitle(), config.getDefaultVersion(), out, context);
+    Map<String, Double> phases = new LinkedHashMap<>();
+    phases.put(BenchResult.TOTAL, (System.nanoTime() - start) / 1e6);
+    phases.putAll(context.metrics().phaseWallMillis());
+    return phases;
+  }
+
+  private static void print(BenchResult result, BenchResult previous) {
+    System.out.printf(
+        "%-14s %10s %10s %10s %14s%n", "phase", "p50 ms", "p90 ms", "max ms", "baseline p50");
+    result
+        .phases()
+        .forEach(
+            (phase, summary) -> {
+              Summary before = previous != null ? previous.phases().get(phase) : null;
+              String comparison =
+                  before == null
+                      ? "-"
+                      : String.format(
+                          "%.1f (%+.1f%%)",
+                          before.p50(), (summary.p50() / before.p50() - 1) * 100);
+              System.out.printf(
+                  "%-14s %10.1f %10.1f %10.1f %14s%n",
+                  phase, summary.p50(), summary.p90(), summary.max(), comparison);
+            });
+  }
+
+  private static void deleteScratch(Path scratch) {
+    try (Stream<Path> files = Files.walk(scratch)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    } catch (IOException ex) {
+      LOGGER.debug("Failed to delete {}: {}", scratch, ex.getMessage());
+    }
+  }
+}
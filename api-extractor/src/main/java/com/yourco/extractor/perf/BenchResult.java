@@ -0,0 +1,124 @@
+package com.yourco.extractor.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-phase wall time percentiles of repeated extraction runs, and their comparison against a
+ * stored baseline. The JSON written by {@link #write} is the format {@link #read} accepts as a
+ * baseline.
+ */
+public final class BenchResult {
+
+  /** Phase name for the wall time of a whole run. */
+  public static final String TOTAL = "total";
+
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  public record Summary(double p50, double p90, double max) {}
+
+  public record Regression(String phase, double baselineMillis, double currentMillis) {
+    public double percent() {
+      return (currentMillis / baselineMillis - 1) * 100;
+    }
+  }
+
+  private final int iterations;
+  private final Map<String, Summary> phases;
+
+  private BenchResult(int iterations, Map<String, Summary> phases) {
+    this.iterations = iterations;
+    this.phases = phases;
+  }
+
+  /** Summarizes wall time samples in milliseconds, one list per phase. */
+  public static BenchResult of(Map<String, List<Double>> samples) {
+    Map<String, Summary> phases = new LinkedHashMap<>();
+    int iterations = 0;
+    for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+      List<Double> sorted = new ArrayList<>(entry.getValue());
+      sorted.sort(null);
+      iterations = Math.max(iterations, sorted.size());
+      phases.put(
+          entry.getKey(),
+          new Summary(
+              percentile(sorted, 50), percentile(sorted, 90), sorted.get(sorted.size() - 1)));
+    }
+    return new BenchResult(iterations, phases);
+  }
+
+  /** Nearest-rank percentile of a sorted, non-empty list. */
+  static double percentile(List<Double> sorted, int percent) {
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.size());
+    return sorted.get(Math.max(0, rank - 1));
+  }
+
+  public static BenchResult read(Path file) throws IOException {
+    JsonNode root = MAPPER.readTree(file.toFile());
+    JsonNode phaseNodes = root.path("phases");
+    if (!phaseNodes.isObject()) {
+      throw new IOException("Not a bench report: " + file);
+    }
+    Map<String, Summary> phases = new LinkedHashMap<>();
+    Iterator<Map.Entry<String, JsonNode>> fields = phaseNodes.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      JsonNode node = field.getValue();
+      phases.put(
+          field.getKey(),
+          new Summary(
+              node.path("p50").asDouble(),
+              node.path("p90").asDouble(),
+              node.path("max").asDouble()));
+    }
+    return new BenchResult(root.path("iterations").asInt(), phases);
+  }
+
+  public void write(Path file) throws IOException {
+    ObjectNode root = MAPPER.createObjectNode();
+    root.put("iterations", iterations);
+    ObjectNode phaseNodes = root.putObject("phases");
+    phases.forEach(
+        (name, summary) ->
+            phaseNodes
+                .putObject(name)
+                .put("p50", summary.p50())
+                .put("p90", summary.p90())
+                .put("max", summary.max()));
+    MAPPER.writeValue(file.toFile(), root);
+  }
+
+  public Map<String, Summary> phases() {
+    return phases;
+  }
+
+  /**
+   * Phases whose median grew by more than {@code thresholdPercent} over the baseline. Phases
+   * whose baseline median is below {@code minMillis} are too noisy to gate on and are skipped.
+   */
+  public List<Regression> regressionsAgainst(
+      BenchResult baseline, double thresholdPercent, double minMillis) {
+    List<Regression> regressions = new ArrayList<>();
+    phases.forEach(
+        (name, current) -> {
+          Summary previous = baseline.phases.get(name);
+          if (previous == null || previous.p50() < minMillis) {
+            return;
+          }
+          if (current.p50() > previous.p50() * (1 + thresholdPercent / 100)) {
+            regressions.add(new Regression(name, previous.p50(), current.p50()));
+          }
+        });
+    return regressions;
+  }
+}
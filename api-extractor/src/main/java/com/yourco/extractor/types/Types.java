@@ -129,6 +129,37 @@ public final class Types {
     return sanitize(sb.toString());
   }
 
+  /**
+   * Like {@link #schemaName} but with type arguments fully qualified at every level, so distinct
+   * instantiations such as {@code List<com.a.UserDto>} and {@code List<com.b.UserDto>} never share
+   * a name.
+   */
+  public static String qualifiedSchemaName(JavaType type) {
+    return sanitize(qualifiedName(type));
+  }
+
+  private static String qualifiedName(JavaType type) {
+    if (!type.isReferenceType()) {
+      return type.describe();
+    }
+    StringBuilder sb = new StringBuilder(type.asReferenceType().getQualifiedName());
+    List<JavaType> args = type.getTypeArguments();
+    if (!args.isEmpty()) {
+      sb.append('_');
+      for (JavaType arg : args) {
+        sb.append(qualifiedName(arg)).append('_');
+      }
+    }
+    return sb.toString();
+  }
+
+  public static String rawSchemaName(JavaType type) {
+    if (!type.isReferenceType()) {
+      return sanitize(type.describe());
+    }
+    return sanitize(type.asReferenceType().getQualifiedName());
+  }
+
   private static String shortName(JavaType type) {
     if (type.isReferenceType()) {
       String qn = type.asReferenceType().getQualifiedName();
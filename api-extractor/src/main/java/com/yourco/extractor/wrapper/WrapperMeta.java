@@ -12,17 +12,17 @@ public final class WrapperMeta {
   private final String wrapperType;
   private final JavaType originalType;
   private final Map<String, Object> metadata;
-  private final Map<String, Object> schemaTemplate;
+  private final WrapperTemplate schemaTemplate;
 
   public WrapperMeta(
       String wrapperType,
       JavaType originalType,
       Map<String, Object> metadata,
-      Map<String, Object> schemaTemplate) {
+      WrapperTemplate schemaTemplate) {
     this.wrapperType = Objects.requireNonNull(wrapperType, "wrapperType");
     this.originalType = Objects.requireNonNull(originalType, "originalType");
     this.metadata = copy(metadata);
-    this.schemaTemplate = copy(schemaTemplate);
+    this.schemaTemplate = schemaTemplate;
   }
 
   public String getWrapperType() {
@@ -37,7 +37,7 @@ public final class WrapperMeta {
     return Optional.ofNullable(metadata);
   }
 
-  public Optional<Map<String, Object>> getSchemaTemplate() {
+  public Optional<WrapperTemplate> getSchemaTemplate() {
     return Optional.ofNullable(schemaTemplate);
   }
 
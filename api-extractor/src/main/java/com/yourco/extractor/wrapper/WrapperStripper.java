@@ -1,23 +1,34 @@
 package com.yourco.extractor.wrapper;
 
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.yourco.extractor.Diagnostics;
 import com.yourco.extractor.ExtractorConfig;
 import com.yourco.extractor.types.JavaType;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class WrapperStripper {
 
-  private final List<WrapperPattern> patterns;
+  private final Map<String, WrapperPattern> patterns = new HashMap<>();
+  private final boolean matchSubtypes;
+  private final Diagnostics diagnostics;
+  private final Map<String, WrapperResult> unwrapped = new ConcurrentHashMap<>();
+  private final Map<String, Optional<WrapperPattern>> ancestorIndex = new ConcurrentHashMap<>();
 
-  public WrapperStripper(ExtractorConfig config) {
-    this.patterns = new ArrayList<>();
+  public WrapperStripper(ExtractorConfig config, Diagnostics diagnostics) {
+    this.diagnostics = diagnostics;
+    boolean subtypes = false;
     for (ExtractorConfig.WrapperConfig wrapper : config.getWrappers()) {
       if (wrapper.getType() != null) {
-        patterns.add(new WrapperPattern(wrapper));
+        WrapperPattern pattern = new WrapperPattern(wrapper);
+        patterns.putIfAbsent(pattern.rawType(), pattern);
+        subtypes |= wrapper.isMatchSubtypes();
       }
     }
+    this.matchSubtypes = subtypes;
   }
 
   public JavaType strip(JavaType returnType) {
@@ -28,48 +39,85 @@ public final class WrapperStripper {
     return Optional.ofNullable(unwrap(returnType).meta());
   }
 
-  private WrapperResult unwrap(JavaType type) {
+  public WrapperResult unwrap(JavaType type) {
+    if (patterns.isEmpty() || !type.isReferenceType()) {
+      return new WrapperResult(type, null);
+    }
+    return unwrapped.computeIfAbsent(type.describe(), key -> computeUnwrap(type));
+  }
+
+  private WrapperResult computeUnwrap(JavaType type) {
     JavaType current = type;
     WrapperMeta lastMeta = null;
-    boolean changed;
-    do {
-      changed = false;
-      for (WrapperPattern pattern : patterns) {
-        Optional<JavaType> payload = pattern.unwrap(current);
-        if (payload.isPresent()) {
-          lastMeta =
-              new WrapperMeta(
-                  pattern.rawType(), current, pattern.metadata(), pattern.schemaTemplate());
-          current = payload.get();
-          changed = true;
-          break;
+    while (current.isReferenceType()) {
+      Optional<JavaType> payload = Optional.empty();
+      WrapperPattern pattern = patterns.get(current.getQualifiedName());
+      if (pattern != null) {
+        payload = pattern.unwrap(current);
+      } else if (matchSubtypes) {
+        Optional<WrapperPattern> inherited = inheritedPattern(current.asReferenceType());
+        if (inherited.isPresent()) {
+          pattern = inherited.get();
+          payload =
+              ancestor(current.asReferenceType(), pattern.rawType()).flatMap(pattern::unwrap);
         }
       }
-    } while (changed);
+      if (payload.isEmpty()) {
+        break;
+      }
+      lastMeta =
+          new WrapperMeta(pattern.rawType(), current, pattern.metadata(), pattern.schemaTemplate());
+      current = payload.get();
+    }
     return new WrapperResult(current, lastMeta);
   }
 
+  private Optional<WrapperPattern> inheritedPattern(ResolvedReferenceType type) {
+    return ancestorIndex.computeIfAbsent(
+        type.getQualifiedName(),
+        key -> {
+          try {
+            for (ResolvedReferenceType ancestor : type.getAllAncestors()) {
+              WrapperPattern pattern = patterns.get(ancestor.getQualifiedName());
+              if (pattern != null && pattern.matchSubtypes()) {
+                return Optional.of(pattern);
+              }
+            }
+          } catch (RuntimeException ex) {
+            diagnostics.report(Diagnostics.Kind.ANCESTORS_UNRESOLVED, key, ex.getMessage());
+          }
+          return Optional.empty();
+        });
+  }
+
+  private Optional<JavaType> ancestor(ResolvedReferenceType type, String qualifiedName) {
+    try {
+      for (ResolvedReferenceType ancestor : type.getAllAncestors()) {
+        if (ancestor.getQualifiedName().equals(qualifiedName)) {
+          return Optional.of(JavaType.from(ancestor));
+        }
+      }
+    } catch (RuntimeException ex) {
+      diagnostics.report(
+          Diagnostics.Kind.ANCESTORS_UNRESOLVED, type.getQualifiedName(), ex.getMessage());
+    }
+    return Optional.empty();
+  }
+
   private static final class WrapperPattern {
     private final ExtractorConfig.WrapperConfig config;
     private final String rawType;
     private final Map<String, Object> metadata;
-    private final Map<String, Object> schemaTemplate;
+    private final WrapperTemplate schemaTemplate;
 
     WrapperPattern(ExtractorConfig.WrapperConfig config) {
       this.config = config;
       this.rawType = parseRawType(config.getType());
       this.metadata = config.getMetadata();
-      this.schemaTemplate = config.getAsSchema();
+      this.schemaTemplate = WrapperTemplate.compile(rawType, config.getAsSchema()).orElse(null);
     }
 
     Optional<JavaType> unwrap(JavaType type) {
-      if (!type.isReferenceType()) {
-        return Optional.empty();
-      }
-      String qualifiedName = type.asReferenceType().getQualifiedName();
-      if (!qualifiedName.equals(rawType)) {
-        return Optional.empty();
-      }
       List<JavaType> args = type.getTypeArguments();
       int index = Math.max(0, config.getPayloadArgIndex());
       if (args.isEmpty() || index >= args.size()) {
@@ -82,11 +130,15 @@ public final class WrapperStripper {
       return rawType;
     }
 
+    boolean matchSubtypes() {
+      return config.isMatchSubtypes();
+    }
+
     Map<String, Object> metadata() {
       return metadata;
     }
 
-    Map<String, Object> schemaTemplate() {
+    WrapperTemplate schemaTemplate() {
       return schemaTemplate;
     }
 
@@ -100,5 +152,5 @@ public final class WrapperStripper {
     }
   }
 
-  private record WrapperResult(JavaType payload, WrapperMeta meta) {}
+  public record WrapperResult(JavaType payload, WrapperMeta meta) {}
 }
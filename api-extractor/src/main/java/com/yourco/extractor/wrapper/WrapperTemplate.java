@@ -0,0 +1,194 @@
+package com.yourco.extractor.wrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.media.Schema;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A wrapper {@code asSchema} template compiled once into a schema tree with payload slots.
+ *
+ * <p>Every {@code {$ref: T}} or bare {@code T} in the template is a slot. Instantiation copies only
+ * the nodes between the root and a slot; all other template nodes are shared between instances and
+ * must not be mutated.
+ */
+public final class WrapperTemplate {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WrapperTemplate.class);
+  private static final ObjectMapper SCHEMA_MAPPER = new ObjectMapper();
+  private static final String PLACEHOLDER = "T";
+  private static final String SLOT_REF = "#/components/schemas/__wrapper_payload__";
+
+  private final Schema<?> root;
+  private final Set<Schema<?>> slotPath = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private WrapperTemplate(Schema<?> root) {
+    this.root = root;
+    markSlotPath(root);
+  }
+
+  public static Optional<WrapperTemplate> compile(
+      String wrapperType, Map<String, Object> template) {
+    if (template == null || template.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      Object marked = markPlaceholders(template);
+      return Optional.of(new WrapperTemplate(SCHEMA_MAPPER.convertValue(marked, Schema.class)));
+    } catch (IllegalArgumentException ex) {
+      LOGGER.warn("Failed to compile wrapper schema for {}: {}", wrapperType, ex.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  public Schema<?> instantiate(Schema<?> payload) {
+    return instantiate(root, payload);
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private Schema<?> instantiate(Schema<?> node, Schema<?> payload) {
+    if (node == null || !slotPath.contains(node)) {
+      return node;
+    }
+    if (SLOT_REF.equals(node.get$ref())) {
+      return payload;
+    }
+    Schema copy = shallowCopy(node);
+    if (node.getProperties() != null) {
+      Map<String, Schema> properties = new LinkedHashMap<>();
+      node.getProperties()
+          .forEach((name, property) -> properties.put(name, instantiate(property, payload)));
+      copy.setProperties(properties);
+    }
+    copy.setItems(instantiate(node.getItems(), payload));
+    if (node.getAdditionalProperties() instanceof Schema additional) {
+      copy.setAdditionalProperties(instantiate(additional, payload));
+    }
+    copy.setNot(instantiate(node.getNot(), payload));
+    copy.setAllOf(instantiateAll(node.getAllOf(), payload));
+    copy.setAnyOf(instantiateAll(node.getAnyOf(), payload));
+    copy.setOneOf(instantiateAll(node.getOneOf(), payload));
+    return copy;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private List<Schema> instantiateAll(List<Schema> schemas, Schema<?> payload) {
+    if (schemas == null) {
+      return null;
+    }
+    List<Schema> copies = new ArrayList<>(schemas.size());
+    for (Schema schema : schemas) {
+      copies.add(instantiate(schema, payload));
+    }
+    return copies;
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static Schema shallowCopy(Schema<?> node) {
+    Schema copy = new Schema();
+    copy.setTitle(node.getTitle());
+    copy.setDescription(node.getDescription());
+    copy.setType(node.getType());
+    copy.setTypes(node.getTypes());
+    copy.setFormat(node.getFormat());
+    copy.set$ref(node.get$ref());
+    copy.setRequired(node.getRequired());
+    copy.setEnum(node.getEnum());
+    copy.setDefault(node.getDefault());
+    if (node.getExampleSetFlag()) {
+      copy.setExample(node.getExample());
+    }
+    copy.setNullable(node.getNullable());
+    copy.setReadOnly(node.getReadOnly());
+    copy.setWriteOnly(node.getWriteOnly());
+    copy.setDeprecated(node.getDeprecated());
+    copy.setMultipleOf(node.getMultipleOf());
+    copy.setMaximum(node.getMaximum());
+    copy.setExclusiveMaximum(node.getExclusiveMaximum());
+    copy.setMinimum(node.getMinimum());
+    copy.setExclusiveMinimum(node.getExclusiveMinimum());
+    copy.setMaxLength(node.getMaxLength());
+    copy.setMinLength(node.getMinLength());
+    copy.setPattern(node.getPattern());
+    copy.setMaxItems(node.getMaxItems());
+    copy.setMinItems(node.getMinItems());
+    copy.setUniqueItems(node.getUniqueItems());
+    copy.setMaxProperties(node.getMaxProperties());
+    copy.setMinProperties(node.getMinProperties());
+    copy.setProperties(node.getProperties());
+    copy.setAdditionalProperties(node.getAdditionalProperties());
+    copy.setDiscriminator(node.getDiscriminator());
+    copy.setExternalDocs(node.getExternalDocs());
+    copy.setXml(node.getXml());
+    copy.setExtensions(node.getExtensions());
+    return copy;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private boolean markSlotPath(Schema<?> node) {
+    if (node == null) {
+      return false;
+    }
+    boolean onPath = SLOT_REF.equals(node.get$ref());
+    if (node.getProperties() != null) {
+      for (Schema property : node.getProperties().values()) {
+        onPath |= markSlotPath(property);
+      }
+    }
+    onPath |= markSlotPath(node.getItems());
+    if (node.getAdditionalProperties() instanceof Schema additional) {
+      onPath |= markSlotPath(additional);
+    }
+    onPath |= markSlotPath(node.getNot());
+    onPath |= markSlotPaths(node.getAllOf());
+    onPath |= markSlotPaths(node.getAnyOf());
+    onPath |= markSlotPaths(node.getOneOf());
+    if (onPath) {
+      slotPath.add(node);
+    }
+    return onPath;
+  }
+
+  @SuppressWarnings("rawtypes")
+  private boolean markSlotPaths(List<Schema> schemas) {
+    boolean onPath = false;
+    if (schemas != null) {
+      for (Schema schema : schemas) {
+        onPath |= markSlotPath(schema);
+      }
+    }
+    return onPath;
+  }
+
+  private static Object markPlaceholders(Object node) {
+    if (node instanceof Map<?, ?> map) {
+      if (map.size() == 1 && PLACEHOLDER.equals(map.get("$ref"))) {
+        return Map.of("$ref", SLOT_REF);
+      }
+      Map<String, Object> marked = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        marked.put(String.valueOf(entry.getKey()), markPlaceholders(entry.getValue()));
+      }
+      return marked;
+    }
+    if (node instanceof List<?> list) {
+      List<Object> marked = new ArrayList<>(list.size());
+      for (Object element : list) {
+        marked.add(markPlaceholders(element));
+      }
+      return marked;
+    }
+    if (PLACEHOLDER.equals(node)) {
+      return Map.of("$ref", SLOT_REF);
+    }
+    return node;
+  }
+}
@@ -0,0 +1,52 @@
+package com.yourco.extractor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SchemaGeneratorTest {
+
+  @TempDir Path out;
+
+  @Test
+  void envelopeSubstitutesEveryFieldUsingATypeParameter() throws Exception {
+    Path document = out.resolve("box.json");
+    Main.extract(boxes(), "Box API", "1.0.0", document, RunContext.standalone());
+
+    JsonNode schema =
+        new ObjectMapper()
+            .readTree(document.toFile())
+            .at("/paths/~1b/get/responses/200/content/application~1json/schema");
+    assertEquals("#/components/schemas/com_box_common_Box", schema.at("/allOf/0/$ref").asText());
+    JsonNode payload = schema.at("/allOf/1/properties");
+    assertEquals("#/components/schemas/com_box_b_BDto", payload.at("/item/$ref").asText());
+    assertEquals("#/components/schemas/com_box_b_BDto", payload.at("/items/items/$ref").asText());
+    assertEquals(2, payload.size());
+  }
+
+  @Test
+  void unknownInstantiationOverflowIsRejected() throws Exception {
+    ExtractorConfig config = boxes();
+    config.getLimits().setInstantiationOverflow("inline");
+
+    IllegalArgumentException failure =
+        assertThrows(
+            IllegalArgumentException.class,
+            () ->
+                Main.extract(
+                    config, "Box API", "1.0.0", out.resolve("box.json"), RunContext.standalone()));
+    assertEquals(
+        "Unsupported instantiation overflow 'inline' (expected erased or envelope)",
+        failure.getMessage());
+  }
+
+  private static ExtractorConfig boxes() throws Exception {
+    return ExtractorConfig.load(
+        Path.of(SchemaGeneratorTest.class.getResource("/fixtures/boxes/extractor.yml").toURI()));
+  }
+}
@@ -0,0 +1,60 @@
+package com.yourco.extractor.diff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.Main;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.diff.SpecDiff.Change;
+import com.yourco.extractor.diff.SpecDiff.Severity;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpecDiffTest {
+
+  @TempDir Path out;
+
+  @Test
+  void yapiDefinitionsArePairedWithQualifiedComponentsAndComparedInDepth() throws Exception {
+    Path candidate = out.resolve("shop.json");
+    Main.extract(shop(), "Shop API", "1.0.0", candidate, RunContext.standalone());
+
+    List<Change> changes = SpecDiff.compare(resource("/fixtures/yapi/shop-users.json"), candidate);
+
+    assertTrue(
+        changes.contains(
+            new Change(Severity.BREAKING, "com_shop_users_UserDto", "property phone removed")),
+        changes.toString());
+    assertTrue(
+        changes.contains(
+            new Change(Severity.BREAKING, "com_shop_users_Role", "enum value VIP removed")),
+        changes.toString());
+    // The inline baseline item is compared with the UserDto the candidate's Page refers to.
+    assertTrue(
+        changes.contains(
+            new Change(
+                Severity.BREAKING,
+                "GET /users",
+                "response 200 property records[].nickname removed")),
+        changes.toString());
+    assertEquals(
+        List.of(),
+        changes.stream()
+            .filter(change -> change.message().equals("component removed"))
+            .toList());
+    assertEquals(
+        List.of(),
+        changes.stream().filter(change -> change.location().equals("GET /users/{id}")).toList());
+  }
+
+  private static ExtractorConfig shop() throws Exception {
+    return ExtractorConfig.load(resource("/fixtures/shop/extractor.yml"));
+  }
+
+  private static Path resource(String name) throws Exception {
+    return Path.of(SpecDiffTest.class.getResource(name).toURI());
+  }
+}
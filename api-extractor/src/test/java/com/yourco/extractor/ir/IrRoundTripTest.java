@@ -0,0 +1,73 @@
+package com.yourco.extractor.ir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.Main;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.SourceShard;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class IrRoundTripTest {
+
+  @TempDir Path out;
+
+  @ParameterizedTest
+  @CsvSource({"json, true", "json, false", "yaml, true"})
+  void renderingAScanReadBackFromIrMatchesDirectExtraction(String format, boolean canonical)
+      throws Exception {
+    Path direct = out.resolve("direct." + format);
+    Main.extract(config(format, canonical), "Shop API", "1.0.0", direct, RunContext.standalone());
+
+    ScanResult scan = Main.scan(config(format, canonical), RunContext.standalone());
+    ByteArrayOutputStream ir = new ByteArrayOutputStream();
+    IrCodec.write(scan, ir);
+    ScanResult read = IrCodec.read(new ByteArrayInputStream(ir.toByteArray()));
+    Path rendered = out.resolve("rendered." + format);
+    Main.render(
+        config(format, canonical), "Shop API", "1.0.0", read, rendered, RunContext.standalone());
+
+    assertTrue(scan.endpoints().size() > 0, "fixture has no endpoints");
+    assertEquals(scan.components().keySet(), read.components().keySet());
+    assertEquals(Files.readString(direct), Files.readString(rendered));
+  }
+
+  @Test
+  @SuppressWarnings("rawtypes")
+  void schemaFieldWithoutTagFailsInsteadOfBeingDropped() {
+    Schema<String> code = new StringSchema();
+    code.setConst("ok");
+    ObjectSchema status = new ObjectSchema();
+    status.addProperty("code", code);
+    Map<String, Schema> components = Map.of("Status", status);
+    ScanResult scan = new ScanResult(List.of(), components, List.of(), SourceShard.ALL);
+
+    IllegalArgumentException failure =
+        assertThrows(
+            IllegalArgumentException.class, () -> IrCodec.write(scan, new ByteArrayOutputStream()));
+    assertTrue(failure.getMessage().contains("Const"), failure.getMessage());
+  }
+
+  private static ExtractorConfig config(String format, boolean canonical) throws Exception {
+    ExtractorConfig config =
+        ExtractorConfig.load(
+            Path.of(IrRoundTripTest.class.getResource("/fixtures/shop/extractor.yml").toURI()));
+    config.getOutput().setFormat(format);
+    config.getOutput().setCanonical(canonical);
+    return config;
+  }
+}
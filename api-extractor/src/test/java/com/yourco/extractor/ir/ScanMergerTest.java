@@ -0,0 +1,90 @@
+package com.yourco.extractor.ir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.yourco.extractor.ExtractorConfig;
+import com.yourco.extractor.Main;
+import com.yourco.extractor.RunContext;
+import com.yourco.extractor.SourceShard;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ScanMergerTest {
+
+  @TempDir Path out;
+
+  @ParameterizedTest
+  @CsvSource({"2, true", "2, false", "3, false"})
+  void mergedShardsRenderLikeASingleProcessScan(int count, boolean canonical) throws Exception {
+    Path direct = out.resolve("direct.json");
+    Main.extract(config(canonical), "Shop API", "1.0.0", direct, RunContext.standalone());
+
+    List<ScanResult> shards = new ArrayList<>();
+    int nonEmpty = 0;
+    for (int index = 1; index <= count; index++) {
+      SourceShard shard = SourceShard.parse(index + "/" + count);
+      ScanResult scan = Main.scan(config(canonical), shard, RunContext.standalone());
+      nonEmpty += scan.endpoints().isEmpty() ? 0 : 1;
+      shards.add(scan);
+    }
+    Path merged = out.resolve("merged.json");
+    Main.render(
+        config(canonical),
+        "Shop API",
+        "1.0.0",
+        new ScanMerger().merge(shards),
+        merged,
+        RunContext.standalone());
+
+    assertTrue(nonEmpty > 1, "fixture does not spread over several shards");
+    assertEquals(Files.readString(direct), Files.readString(merged));
+  }
+
+  @Test
+  void missingShardIsRejected() throws Exception {
+    ScanResult first = Main.scan(config(true), SourceShard.parse("1/2"), RunContext.standalone());
+
+    IllegalArgumentException failure =
+        assertThrows(IllegalArgumentException.class, () -> new ScanMerger().merge(List.of(first)));
+    assertEquals("Missing shard 2/2", failure.getMessage());
+  }
+
+  @Test
+  void instantiationCapIsRejectedWithShards() throws Exception {
+    // Box<ADto>, Box<BDto> and Box<CDto> come from three packages; with a cap of one, a single
+    // scan keeps Box<ADto> only, which no shard could know on its own.
+    Path direct = out.resolve("direct.json");
+    Main.extract(boxes(), "Box API", "1.0.0", direct, RunContext.standalone());
+    String document = Files.readString(direct);
+    assertTrue(document.contains("\"com_box_common_Box_ADto_\""), document);
+    assertFalse(document.contains("\"com_box_common_Box_BDto_\""), document);
+
+    IllegalArgumentException failure =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> Main.scan(boxes(), SourceShard.parse("1/2"), RunContext.standalone()));
+    assertTrue(failure.getMessage().contains("--shard"), failure.getMessage());
+  }
+
+  private static ExtractorConfig boxes() throws Exception {
+    return ExtractorConfig.load(
+        Path.of(ScanMergerTest.class.getResource("/fixtures/boxes/extractor.yml").toURI()));
+  }
+
+  private static ExtractorConfig config(boolean canonical) throws Exception {
+    ExtractorConfig config =
+        ExtractorConfig.load(
+            Path.of(ScanMergerTest.class.getResource("/fixtures/shop/extractor.yml").toURI()));
+    config.getOutput().setCanonical(canonical);
+    return config;
+  }
+}
@@ -0,0 +1,54 @@
+package com.yourco.extractor.merge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpecMergerTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @TempDir Path dir;
+
+  @Test
+  void duplicateOperationIdsAreRenamedPerOperation() throws Exception {
+    Path users =
+        write(
+            "users.json",
+            """
+            {"openapi": "3.0.1", "paths": {
+              "/users": {"get": {"operationId": "list"}},
+              "/users/all": {"get": {"operationId": "list"}},
+              "/users/old": {"get": {"operationId": "list"}}}}
+            """);
+    Path orders =
+        write(
+            "orders.json",
+            """
+            {"openapi": "3.0.1", "paths": {
+              "/orders": {"get": {"operationId": "list"}},
+              "/orders/all": {"get": {"operationId": "orders_list"}}}}
+            """);
+    Path merged = dir.resolve("merged.json");
+
+    new SpecMerger(SpecMerger.ConflictPolicy.FAIL)
+        .merge(List.of(users, orders), merged, "Gateway API", "1.0.0");
+
+    JsonNode paths = MAPPER.readTree(merged.toFile()).get("paths");
+    assertEquals("list", paths.at("/~1users/get/operationId").asText());
+    assertEquals("users_list", paths.at("/~1users~1all/get/operationId").asText());
+    assertEquals("users_list_2", paths.at("/~1users~1old/get/operationId").asText());
+    assertEquals("orders_list", paths.at("/~1orders/get/operationId").asText());
+    assertEquals("orders_orders_list", paths.at("/~1orders~1all/get/operationId").asText());
+  }
+
+  private Path write(String name, String json) throws Exception {
+    return Files.writeString(dir.resolve(name), json);
+  }
+}
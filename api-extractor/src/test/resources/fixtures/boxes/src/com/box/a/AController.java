@@ -0,0 +1,13 @@
+package com.box.a;
+
+import com.box.common.Box;
+
+@RestController
+@RequestMapping("/a")
+public class AController {
+
+  @GetMapping
+  public Box<ADto> get() {
+    return null;
+  }
+}
@@ -0,0 +1,5 @@
+package com.box.a;
+
+public class ADto {
+  private String name;
+}
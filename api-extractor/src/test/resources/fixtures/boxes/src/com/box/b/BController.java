@@ -0,0 +1,13 @@
+package com.box.b;
+
+import com.box.common.Box;
+
+@RestController
+@RequestMapping("/b")
+public class BController {
+
+  @GetMapping
+  public Box<BDto> get() {
+    return null;
+  }
+}
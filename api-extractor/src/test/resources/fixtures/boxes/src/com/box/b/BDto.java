@@ -0,0 +1,5 @@
+package com.box.b;
+
+public class BDto {
+  private String name;
+}
@@ -0,0 +1,13 @@
+package com.box.c;
+
+import com.box.common.Box;
+
+@RestController
+@RequestMapping("/c")
+public class CController {
+
+  @GetMapping
+  public Box<CDto> get() {
+    return null;
+  }
+}
@@ -0,0 +1,5 @@
+package com.box.c;
+
+public class CDto {
+  private String name;
+}
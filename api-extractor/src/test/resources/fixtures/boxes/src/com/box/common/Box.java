@@ -0,0 +1,9 @@
+package com.box.common;
+
+import java.util.List;
+
+public class Box<T> {
+  private T item;
+  private List<T> items;
+  private int size;
+}
@@ -0,0 +1,11 @@
+package com.shop.common;
+
+import java.math.BigDecimal;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+
+public class Money {
+  @NotNull @DecimalMin("0") private BigDecimal amount;
+  @Pattern(regexp = "[A-Z]{3}") private String currency;
+}
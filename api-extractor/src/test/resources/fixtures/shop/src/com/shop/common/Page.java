@@ -0,0 +1,8 @@
+package com.shop.common;
+
+import java.util.List;
+
+public class Page<T> {
+  private List<T> records;
+  private long total;
+}
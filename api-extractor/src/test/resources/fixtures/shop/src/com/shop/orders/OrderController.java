@@ -0,0 +1,35 @@
+package com.shop.orders;
+
+import com.shop.common.Page;
+import com.shop.common.Result;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/orders")
+public class OrderController {
+
+  @GetMapping
+  public Result<Page<OrderDto>> list(
+      @RequestParam(value = "status", required = false) OrderDto.Status status) {
+    return null;
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<Result<Optional<OrderDto>>> get(@PathVariable("id") String id) {
+    return null;
+  }
+
+  @PutMapping("/{id}/lines")
+  public Result<List<OrderLine>> replaceLines(
+      @PathVariable("id") String id, @RequestBody List<OrderLine> lines) {
+    return null;
+  }
+
+  @GetMapping("/totals")
+  public Map<String, List<Page<OrderLine>>> totals() {
+    return null;
+  }
+}
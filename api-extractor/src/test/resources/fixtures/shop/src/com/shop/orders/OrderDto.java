@@ -0,0 +1,20 @@
+package com.shop.orders;
+
+import com.shop.common.Money;
+import com.shop.users.UserDto;
+import java.util.List;
+import javax.validation.constraints.NotEmpty;
+
+public class OrderDto {
+  private String id;
+  private UserDto customer;
+  @NotEmpty private List<OrderLine> lines;
+  private Money total;
+  private Status status;
+
+  public enum Status {
+    OPEN,
+    PAID,
+    SHIPPED
+  }
+}
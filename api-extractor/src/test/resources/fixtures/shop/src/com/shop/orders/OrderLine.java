@@ -0,0 +1,11 @@
+package com.shop.orders;
+
+import com.shop.common.Money;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+public class OrderLine {
+  private String sku;
+  @Min(1) @Max(999) private int quantity;
+  private Money price;
+}
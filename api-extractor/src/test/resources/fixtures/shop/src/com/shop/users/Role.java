@@ -0,0 +1,7 @@
+package com.shop.users;
+
+public enum Role {
+  ADMIN,
+  CUSTOMER,
+  GUEST
+}
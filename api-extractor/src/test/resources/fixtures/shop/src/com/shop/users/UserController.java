@@ -0,0 +1,33 @@
+package com.shop.users;
+
+import com.shop.common.Page;
+import com.shop.common.Result;
+import org.springframework.http.ResponseEntity;
+
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+  @GetMapping
+  public Result<Page<UserDto>> list(
+      @RequestParam(value = "page", defaultValue = "1") int page,
+      @RequestParam(value = "role", required = false) Role role) {
+    return null;
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<UserDto> get(@PathVariable("id") long id) {
+    return null;
+  }
+
+  @PostMapping(consumes = "application/json")
+  public Result<UserDto> create(@RequestBody UserDto user) {
+    return null;
+  }
+
+  @DeleteMapping("/{id}")
+  public Result<Boolean> delete(
+      @PathVariable("id") long id, @RequestHeader("X-Request-Id") String requestId) {
+    return null;
+  }
+}
@@ -0,0 +1,19 @@
+package com.shop.users;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public class UserDto {
+  @NotNull private Long id;
+  @Size(min = 1, max = 64) private String name;
+  @Email private String email;
+  private Role role;
+  private List<String> tags;
+  private Map<String, String> attributes;
+  private UserDto referrer;
+  private OffsetDateTime createdAt;
+}
@@ -0,0 +1,5 @@
+package org.springframework.http;
+
+public class ResponseEntity<T> {
+  private T body;
+}